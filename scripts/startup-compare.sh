@@ -0,0 +1,119 @@
+#!/usr/bin/env bash
+# Compare les variantes de packaging : temps jusqu'à readiness, fin du warmup, RSS (médianes sur N démarrages).
+#
+#   mvn clean package -DskipTests                 -> jar      (fat jar)
+#   mvn package -DskipTests -Paot                 -> aot      (fat jar + -Dspring.aot.enabled=true)
+#   mvn package -DskipTests -Pcds[,aot]           -> cds / cds+aot (target/app + archive application.jsa)
+#   mvn -Pnative native:compile -DskipTests       -> native   (target/multi-validator)
+#
+# Les variantes absentes de target/ sont ignorées. Base de données requise, comme pour un démarrage normal
+# (profil prod : DB_HOST, DB_PORT, DB_NAME, DB_USER, DB_PASSWORD).
+#
+# Usage : scripts/startup-compare.sh [démarrages par variante, 5 par défaut]
+# Variables : PORT (18080), SPRING_PROFILES_ACTIVE (prod), JAVA (java), JAVA_OPTS (-Xmx512m), TARGET (target)
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+TARGET=${TARGET:-target}
+JAVA=${JAVA:-java}
+JAVA_OPTS=${JAVA_OPTS:--Xmx512m}
+export SPRING_PROFILES_ACTIVE=${SPRING_PROFILES_ACTIVE:-prod}
+TIMEOUT_SECONDS=120
+
+JAR=$(ls "$TARGET"/multi-validator-*.jar 2>/dev/null | grep -v original | head -1 || true)
+THIN_JAR=$(ls "$TARGET"/app/multi-validator-*.jar 2>/dev/null | head -1 || true)
+NATIVE="$TARGET/multi-validator"
+READINESS="http://localhost:$PORT/actuator/health/readiness"
+
+now_ms() {
+    date +%s%3N
+}
+
+# L'archive CDS référence le classpath relatif du run d'entraînement : lancement depuis target/app
+in_app_dir() {
+    cd "$TARGET/app" && exec "$@"
+}
+
+has_aot() {
+    [ "$(unzip -l "$1" 2>/dev/null | grep -c 'MultiValidatorApplication__ApplicationContextInitializer')" -gt 0 ]
+}
+
+median() {
+    tr ' ' '\n' | grep -v '^$' | sort -n | awk '{ v[NR] = $1 } END { if (NR == 0) print "-"; else print v[int((NR + 1) / 2)] }'
+}
+
+# Une mesure : "ready_ms warm_ms rss_ready_mb rss_warm_mb"
+measure() {
+    local log start pid ready=0 warm=0 rss_ready=0 rss_warm=0 deadline body
+    log=$(mktemp)
+    start=$(now_ms)
+    "$@" --server.port="$PORT" >"$log" 2>&1 &
+    pid=$!
+    deadline=$((start + TIMEOUT_SECONDS * 1000))
+
+    while [ "$(now_ms)" -lt "$deadline" ] && kill -0 "$pid" 2>/dev/null; do
+        body=$(curl -fs "$READINESS" 2>/dev/null || true)
+        if [ -n "$body" ]; then
+            if [ "$ready" -eq 0 ]; then
+                ready=$(($(now_ms) - start))
+                rss_ready=$(($(ps -o rss= -p "$pid") / 1024))
+            fi
+            if echo "$body" | grep -q '"complete":true'; then
+                warm=$(($(now_ms) - start))
+                rss_warm=$(($(ps -o rss= -p "$pid") / 1024))
+                break
+            fi
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    if [ "$warm" -eq 0 ]; then
+        echo "  startup failed or timed out, log: $log" >&2
+        return 1
+    fi
+    rm -f "$log"
+    echo "$ready $warm $rss_ready $rss_warm"
+}
+
+run_variant() {
+    local name=$1
+    shift
+    local ready=() warm=() rss_ready=() rss_warm=() result
+    echo "== $name ($RUNS runs)" >&2
+    for _ in $(seq "$RUNS"); do
+        result=$(measure "$@") || return 0
+        read -r r w rr rw <<<"$result"
+        ready+=("$r"); warm+=("$w"); rss_ready+=("$rr"); rss_warm+=("$rw")
+    done
+    printf '%-10s %10s %10s %14s %14s\n' "$name" \
+        "$(echo "${ready[*]}" | median)" "$(echo "${warm[*]}" | median)" \
+        "$(echo "${rss_ready[*]}" | median)" "$(echo "${rss_warm[*]}" | median)"
+}
+
+printf '%-10s %10s %10s %14s %14s\n' variant ready_ms warm_ms rss_ready_mb rss_warm_mb
+
+if [ -n "$JAR" ]; then
+    # shellcheck disable=SC2086
+    if has_aot "$JAR"; then
+        run_variant aot $JAVA $JAVA_OPTS -Dspring.aot.enabled=true -jar "$JAR"
+    else
+        run_variant jar $JAVA $JAVA_OPTS -jar "$JAR"
+    fi
+fi
+
+if [ -n "$THIN_JAR" ] && [ -f "$TARGET/app/application.jsa" ]; then
+    # shellcheck disable=SC2086
+    if has_aot "$THIN_JAR"; then
+        run_variant cds+aot in_app_dir $JAVA $JAVA_OPTS -XX:SharedArchiveFile=application.jsa \
+            -Dspring.aot.enabled=true -jar "$(basename "$THIN_JAR")"
+    else
+        run_variant cds in_app_dir $JAVA $JAVA_OPTS -XX:SharedArchiveFile=application.jsa -jar "$(basename "$THIN_JAR")"
+    fi
+fi
+
+if [ -x "$NATIVE" ]; then
+    run_variant native "$NATIVE"
+fi
@@ -0,0 +1,13 @@
+package com.validatorapi.config;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Sérialisation binaire compacte d'une valeur de cache pour le niveau L2
+public interface CacheCodec<T> {
+
+    void write(T value, DataOutput out) throws IOException;
+
+    T read(DataInput in) throws IOException;
+}
@@ -0,0 +1,270 @@
+package com.validatorapi.config;
+
+import com.validatorapi.dto.EmailValidationResponse;
+import com.validatorapi.dto.IbanValidationResponse;
+import com.validatorapi.dto.PhoneValidationResponse;
+import com.validatorapi.service.DomainFacts;
+import com.validatorapi.service.MxLookupResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+// Codecs des caches partagés : champs écrits dans un ordre fixe, préfixés par une version de format.
+// Changer un DTO impose d'incrémenter FORMAT_VERSION (les entrées d'une autre version sont ignorées).
+public final class CacheCodecs {
+
+    static final byte FORMAT_VERSION = 2;
+
+    private static final Map<String, CacheCodec<?>> BY_CACHE = Map.of(
+            "emailValidation", new EmailCodec(),
+            "phoneValidation", new PhoneCodec(),
+            "ibanValidation", new IbanCodec(),
+            CacheConfig.DOMAIN_FACTS, new DomainFactsCodec()
+    );
+
+    private CacheCodecs() {
+    }
+
+    public static Set<String> cacheNames() {
+        return BY_CACHE.keySet();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CacheCodec<T> forCache(String cacheName) {
+        return (CacheCodec<T>) BY_CACHE.get(cacheName);
+    }
+
+    public static <T> byte[] encode(CacheCodec<T> codec, T value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            codec.write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // null si l'entrée a été écrite avec une autre version du format
+    public static <T> T decode(CacheCodec<T> codec, byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            return codec.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class EmailCodec implements CacheCodec<EmailValidationResponse> {
+
+        @Override
+        public void write(EmailValidationResponse r, DataOutput out) throws IOException {
+            writeString(out, r.getEmail());
+            writeBoolean(out, r.getValid());
+            writeBoolean(out, r.getSyntaxValid());
+            writeBoolean(out, r.getDomainExists());
+            writeString(out, r.getMxHost());
+            writeInteger(out, r.getMxRecordsCount());
+            writeBoolean(out, r.getIsDisposable());
+            writeBoolean(out, r.getIsRoleAccount());
+            writeBoolean(out, r.getIsFreeProvider());
+            writeString(out, r.getProviderType());
+            writeString(out, r.getSuggestion());
+            writeInteger(out, r.getRiskScore());
+            writeLong(out, r.getValidationTimeMs());
+            writeDateTime(out, r.getCheckedAt());
+        }
+
+        @Override
+        public EmailValidationResponse read(DataInput in) throws IOException {
+            return EmailValidationResponse.builder()
+                    .email(readString(in))
+                    .valid(readBoolean(in))
+                    .syntaxValid(readBoolean(in))
+                    .domainExists(readBoolean(in))
+                    .mxHost(readString(in))
+                    .mxRecordsCount(readInteger(in))
+                    .isDisposable(readBoolean(in))
+                    .isRoleAccount(readBoolean(in))
+                    .isFreeProvider(readBoolean(in))
+                    .providerType(readString(in))
+                    .suggestion(readString(in))
+                    .riskScore(readInteger(in))
+                    .validationTimeMs(readLong(in))
+                    .checkedAt(readDateTime(in))
+                    .build();
+        }
+    }
+
+    private static final class PhoneCodec implements CacheCodec<PhoneValidationResponse> {
+
+        @Override
+        public void write(PhoneValidationResponse r, DataOutput out) throws IOException {
+            writeString(out, r.getPhone());
+            writeBoolean(out, r.getValid());
+            writeString(out, r.getCountry());
+            writeString(out, r.getCountryCode());
+            writeInteger(out, r.getCountryPrefix());
+            writeString(out, r.getNationalFormat());
+            writeString(out, r.getInternationalFormat());
+            writeString(out, r.getE164Format());
+            writeString(out, r.getType());
+            writeString(out, r.getCarrier());
+            writeString(out, r.getTimezone());
+            writeInteger(out, r.getRiskScore());
+            writeLong(out, r.getValidationTimeMs());
+            writeDateTime(out, r.getCheckedAt());
+        }
+
+        @Override
+        public PhoneValidationResponse read(DataInput in) throws IOException {
+            return PhoneValidationResponse.builder()
+                    .phone(readString(in))
+                    .valid(readBoolean(in))
+                    .country(readString(in))
+                    .countryCode(readString(in))
+                    .countryPrefix(readInteger(in))
+                    .nationalFormat(readString(in))
+                    .internationalFormat(readString(in))
+                    .e164Format(readString(in))
+                    .type(readString(in))
+                    .carrier(readString(in))
+                    .timezone(readString(in))
+                    .riskScore(readInteger(in))
+                    .validationTimeMs(readLong(in))
+                    .checkedAt(readDateTime(in))
+                    .build();
+        }
+    }
+
+    private static final class IbanCodec implements CacheCodec<IbanValidationResponse> {
+
+        @Override
+        public void write(IbanValidationResponse r, DataOutput out) throws IOException {
+            writeString(out, r.getIban());
+            writeBoolean(out, r.getValid());
+            writeString(out, r.getCountry());
+            writeString(out, r.getCountryCode());
+            writeString(out, r.getCheckDigits());
+            writeString(out, r.getBankCode());
+            writeString(out, r.getBranchCode());
+            writeString(out, r.getAccountNumber());
+            writeString(out, r.getNationalCheckDigits());
+            writeString(out, r.getBic());
+            writeString(out, r.getBankName());
+            writeString(out, r.getIbanFormatted());
+            writeLong(out, r.getValidationTimeMs());
+            writeDateTime(out, r.getCheckedAt());
+        }
+
+        @Override
+        public IbanValidationResponse read(DataInput in) throws IOException {
+            return IbanValidationResponse.builder()
+                    .iban(readString(in))
+                    .valid(readBoolean(in))
+                    .country(readString(in))
+                    .countryCode(readString(in))
+                    .checkDigits(readString(in))
+                    .bankCode(readString(in))
+                    .branchCode(readString(in))
+                    .accountNumber(readString(in))
+                    .nationalCheckDigits(readString(in))
+                    .bic(readString(in))
+                    .bankName(readString(in))
+                    .ibanFormatted(readString(in))
+                    .validationTimeMs(readLong(in))
+                    .checkedAt(readDateTime(in))
+                    .build();
+        }
+    }
+
+    private static final class DomainFactsCodec implements CacheCodec<DomainFacts> {
+
+        @Override
+        public void write(DomainFacts f, DataOutput out) throws IOException {
+            writeString(out, f.domain());
+            out.writeByte(f.mx().status().ordinal());
+            writeString(out, f.mx().mxHost());
+            out.writeShort(f.mx().count());
+            out.writeBoolean(f.disposable());
+            out.writeBoolean(f.freeProvider());
+            writeString(out, f.providerType());
+            writeString(out, f.suggestedDomain());
+        }
+
+        @Override
+        public DomainFacts read(DataInput in) throws IOException {
+            String domain = readString(in);
+            MxLookupResult mx = new MxLookupResult(
+                    MxLookupResult.Status.values()[in.readByte()], readString(in), in.readShort());
+            return new DomainFacts(domain, mx, in.readBoolean(), in.readBoolean(), readString(in), readString(in));
+        }
+    }
+
+    // Booléens nullables sur un octet : 0 = null, 1 = false, 2 = true
+    private static void writeBoolean(DataOutput out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    private static Boolean readBoolean(DataInput in) throws IOException {
+        byte value = in.readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
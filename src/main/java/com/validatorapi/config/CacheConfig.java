@@ -1,29 +1,135 @@
 package com.validatorapi.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.validatorapi.service.DisposableDomainIndex;
+import com.validatorapi.service.DomainFacts;
+import com.validatorapi.service.MxLookupResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String DOMAIN_FACTS = "domainFacts";
+
+    private static final long RESPONSE_TTL_DAYS = 7;
+
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(@Value("${validator.cache.domain-facts.max-size:100000}") long domainFactsSize,
+                                     @Value("${validator.cache.domain-facts.ttl:1h}") Duration domainFactsTtl,
+                                     @Value("${validator.dns.negative-ttl:10m}") Duration negativeTtl,
+                                     @Value("${validator.dns.failure-ttl:1m}") Duration failureTtl,
+                                     ObjectProvider<L2CacheStore> l2CacheStore,
+                                     ObjectProvider<DisposableDomainIndex> disposableDomainIndex,
+                                     MeterRegistry meterRegistry) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager(
                 "emailValidation", "phoneValidation", "ibanValidation"
         );
 
         cacheManager.setCaffeine(Caffeine.newBuilder()
                 .maximumSize(100_000)
-                .expireAfterWrite(7, TimeUnit.DAYS)
+                .expireAfter(new FixedExpiry(Duration.ofDays(RESPONSE_TTL_DAYS)))
                 .recordStats());
 
-        return cacheManager;
+        // Niveau domaine sous le cache par adresse : une nouvelle adresse sur un domaine connu
+        // ne coûte que la syntaxe et la partie locale. Domaines invalides et jetables inclus.
+        DomainFactsExpiry domainFactsExpiry = new DomainFactsExpiry(domainFactsTtl, negativeTtl, failureTtl);
+        cacheManager.registerCustomCache(DOMAIN_FACTS, Caffeine.newBuilder()
+                .maximumSize(domainFactsSize)
+                .expireAfter(domainFactsExpiry)
+                .recordStats()
+                .buildAsync());
+
+        // Niveau L2 optionnel (validator.cache.l2.type), partagé entre instances
+        L2CacheStore l2 = l2CacheStore.getIfAvailable();
+        if (l2 == null) {
+            return cacheManager;
+        }
+
+        // is_disposable figé dans ces deux caches : index relu en base avant de reprendre la génération d'un pair
+        Runnable reloadDisposableIndex = () -> disposableDomainIndex.getObject().reloadFromPeer();
+        return new TieredCacheManager(cacheManager, l2, (name, value) -> DOMAIN_FACTS.equals(name)
+                ? domainFactsExpiry.ttl(value)
+                : Duration.ofDays(RESPONSE_TTL_DAYS), meterRegistry,
+                Map.of(DOMAIN_FACTS, reloadDisposableIndex, "emailValidation", reloadDisposableIndex));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "validator.cache.l2.type", havingValue = "file")
+    public L2CacheStore fileL2CacheStore(@Value("${validator.cache.l2.directory}") Path directory) {
+        return new FileL2CacheStore(directory);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "validator.cache.l2.type", havingValue = "memory")
+    public L2CacheStore inMemoryL2CacheStore(@Value("${validator.cache.l2.max-entries:500000}") long maxEntries) {
+        return new InMemoryL2CacheStore(maxEntries);
+    }
+
+    // Équivalent d'expireAfterWrite, en expiration variable pour pouvoir restaurer
+    // une entrée avec sa durée restante (CacheSnapshotter)
+    private record FixedExpiry(Duration ttl) implements Expiry<Object, Object> {
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    // Même logique que le cache MX : un échec DNS ne doit pas rester en cache une heure
+    private record DomainFactsExpiry(Duration ttl, Duration negativeTtl, Duration failureTtl)
+            implements Expiry<Object, Object> {
+
+        Duration ttl(Object value) {
+            if (!(value instanceof DomainFacts facts)) {
+                return ttl;
+            }
+            MxLookupResult.Status status = facts.mx().status();
+            if (status == MxLookupResult.Status.FAILURE) {
+                return failureTtl;
+            }
+            if (status != MxLookupResult.Status.FOUND) {
+                return negativeTtl.compareTo(ttl) < 0 ? negativeTtl : ttl;
+            }
+            return ttl;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return ttl(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.validatorapi.config;
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import org.springframework.stereotype.Component;
+
+import java.net.IDN;
+import java.util.Locale;
+
+// Clés canoniques des caches de validation, utilisées en SpEL : key = "@cacheKeys.email(#email)"
+// Deux saisies équivalentes ("Foo@Gmail.com " / "foo@gmail.com") partagent la même entrée
+@Component("cacheKeys")
+public class CacheKeys {
+
+    private static final String DEFAULT_COUNTRY = "US";
+
+    private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+    // Minuscules, domaine en punycode (exämple.com -> xn--exmple-cua.com)
+    public String email(String email) {
+        if (email == null) {
+            return "";
+        }
+        String lower = email.trim().toLowerCase(Locale.ROOT);
+        int at = lower.lastIndexOf('@');
+        if (at < 0 || at == lower.length() - 1 || isAscii(lower, at + 1)) {
+            return lower;
+        }
+        try {
+            return lower.substring(0, at + 1) + IDN.toASCII(lower.substring(at + 1), IDN.ALLOW_UNASSIGNED);
+        } catch (IllegalArgumentException e) {
+            return lower; // Domaine non convertible : la validation syntaxique le rejettera
+        }
+    }
+
+    // E.164 quand le numéro se parse, le pays par défaut n'influence alors plus le résultat
+    public String phone(String phone, String defaultCountry) {
+        if (phone == null) {
+            return "";
+        }
+        String trimmed = phone.trim();
+        String country = defaultCountry(defaultCountry);
+        try {
+            PhoneNumber number = phoneUtil.parse(trimmed, country);
+            return phoneUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.E164);
+        } catch (NumberParseException e) {
+            return trimmed + '_' + country;
+        }
+    }
+
+    // Sans espaces, en majuscules
+    public String iban(String iban) {
+        if (iban == null) {
+            return "";
+        }
+        StringBuilder compact = new StringBuilder(iban.length());
+        for (int i = 0; i < iban.length(); i++) {
+            char c = iban.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                compact.append(Character.toUpperCase(c));
+            }
+        }
+        return compact.toString();
+    }
+
+    public String defaultCountry(String defaultCountry) {
+        if (defaultCountry == null || defaultCountry.isBlank()) {
+            return DEFAULT_COUNTRY;
+        }
+        return defaultCountry.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static boolean isAscii(String value, int from) {
+        for (int i = from; i < value.length(); i++) {
+            if (value.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
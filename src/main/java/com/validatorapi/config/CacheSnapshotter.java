@@ -0,0 +1,240 @@
+package com.validatorapi.config;
+
+import com.github.benmanes.caffeine.cache.Policy;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Snapshot périodique des entrées les plus chaudes des caches dans un fichier mappé en mémoire,
+// rechargé en tâche de fond au démarrage avec l'expiration d'origine : après une mise en veille
+// de la plateforme, l'instance sert des hits dès les premières secondes.
+//
+// Format : magic, version, puis par cache : nom, nombre d'entrées, [clé, expiration epoch ms, valeur codec]
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "validator.cache.snapshot.enabled", havingValue = "true")
+public class CacheSnapshotter {
+
+    private static final int MAGIC = 0x56435348; // "VCSH"
+
+    private final CacheManager cacheManager;
+    private final Path file;
+    private final int maxEntriesPerCache;
+
+    private volatile boolean restored;
+
+    public CacheSnapshotter(CacheManager cacheManager,
+                            @Value("${validator.cache.snapshot.file}") Path file,
+                            @Value("${validator.cache.snapshot.max-entries-per-cache:20000}") int maxEntriesPerCache) {
+        this.cacheManager = cacheManager;
+        this.file = file;
+        this.maxEntriesPerCache = maxEntriesPerCache;
+    }
+
+    @Scheduled(initialDelayString = "${validator.cache.snapshot.interval-ms:60000}",
+            fixedDelayString = "${validator.cache.snapshot.interval-ms:60000}")
+    public synchronized void snapshot() {
+        // Pas d'écrasement d'un snapshot complet par des caches encore vides
+        if (!restored) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        List<Section> sections = new ArrayList<>();
+        int size = 2 * Integer.BYTES;
+        for (String cacheName : CacheCodecs.cacheNames()) {
+            Section section = collect(cacheName, startTime);
+            if (section != null) {
+                sections.add(section);
+                size += section.size();
+            }
+        }
+
+        try {
+            write(sections, size);
+        } catch (IOException e) {
+            log.warn("Cache snapshot failed: {}", e.getMessage());
+            return;
+        }
+
+        log.debug("Cache snapshot written: {} entries, {} bytes in {}ms",
+                sections.stream().mapToInt(s -> s.entries.size()).sum(), size,
+                System.currentTimeMillis() - startTime);
+    }
+
+    // Avant le CommandLineRunner d'initialisation, sans le bloquer.
+    // Thread dédié : sur un pool partagé, la restauration pourrait être rejetée ou évincée de la file
+    @EventListener(ApplicationStartedEvent.class)
+    public void onStarted() {
+        Thread thread = new CustomizableThreadFactory("cache-snapshot-restore-").newThread(this::restore);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void restore() {
+        long startTime = System.currentTimeMillis();
+        int count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != MAGIC
+                    || buffer.getInt() != CacheCodecs.FORMAT_VERSION) {
+                log.warn("Cache snapshot {} ignored: unknown format", file);
+                return;
+            }
+            while (buffer.hasRemaining()) {
+                count += restoreSection(buffer, startTime);
+            }
+            log.info("Cache snapshot restored: {} entries in {}ms", count, System.currentTimeMillis() - startTime);
+        } catch (NoSuchFileException e) {
+            log.info("No cache snapshot to restore at {}", file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cache snapshot restore stopped after {} entries: {}", count, e.toString());
+        } finally {
+            restored = true;
+        }
+    }
+
+    @PreDestroy
+    public void onShutdown() {
+        snapshot();
+    }
+
+    private Section collect(String cacheName, long now) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Policy<Object, Object> policy = (Policy<Object, Object>) nativeCache.policy();
+        Optional<Policy.VarExpiration<Object, Object>> expiration = policy.expireVariably();
+        if (expiration.isEmpty() || policy.eviction().isEmpty()) {
+            return null;
+        }
+
+        CacheCodec<Object> codec = CacheCodecs.forCache(cacheName);
+        Section section = new Section(cacheName.getBytes(StandardCharsets.UTF_8), new ArrayList<>());
+        for (Map.Entry<Object, Object> entry : policy.eviction().get().hottest(maxEntriesPerCache).entrySet()) {
+            Optional<Duration> remaining = expiration.get().getExpiresAfter(entry.getKey());
+            if (remaining.isEmpty() || !(entry.getKey() instanceof String key)) {
+                continue;
+            }
+            try {
+                section.entries.add(new Entry(key.getBytes(StandardCharsets.UTF_8),
+                        now + remaining.get().toMillis(), CacheCodecs.encode(codec, entry.getValue())));
+            } catch (ClassCastException e) {
+                // NullValue de Spring ou valeur d'un autre type : non persistée
+            }
+        }
+        return section;
+    }
+
+    private int restoreSection(ByteBuffer buffer, long now) {
+        String cacheName = readString(buffer);
+        int count = buffer.getInt();
+
+        Cache cache = cacheManager.getCache(cacheName);
+        CacheCodec<Object> codec = CacheCodecs.forCache(cacheName);
+        Optional<Policy.VarExpiration<Object, Object>> expiration = Optional.empty();
+        if (cache != null && codec != null
+                && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            @SuppressWarnings("unchecked")
+            Policy<Object, Object> policy = (Policy<Object, Object>) nativeCache.policy();
+            expiration = policy.expireVariably();
+        }
+
+        int restoredEntries = 0;
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            long expiresAt = buffer.getLong();
+            byte[] value = new byte[buffer.getInt()];
+            buffer.get(value);
+
+            if (expiration.isEmpty() || expiresAt <= now) {
+                continue;
+            }
+            Object decoded = CacheCodecs.decode(codec, value);
+            // putIfAbsent : une entrée calculée depuis le démarrage est plus récente
+            if (decoded != null && expiration.get().putIfAbsent(key, decoded, Duration.ofMillis(expiresAt - now)) == null) {
+                restoredEntries++;
+            }
+        }
+        return restoredEntries;
+    }
+
+    private void write(List<Section> sections, int size) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(MAGIC).putInt(CacheCodecs.FORMAT_VERSION);
+            for (Section section : sections) {
+                putBytes(buffer, section.name);
+                buffer.putInt(section.entries.size());
+                for (Entry entry : section.entries) {
+                    putBytes(buffer, entry.key);
+                    buffer.putLong(entry.expiresAt);
+                    putBytes(buffer, entry.value);
+                }
+            }
+            buffer.force();
+        }
+
+        try {
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        buffer.putInt(bytes.length).put(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Section(byte[] name, List<Entry> entries) {
+
+        int size() {
+            int size = 2 * Integer.BYTES + name.length;
+            for (Entry entry : entries) {
+                size += 2 * Integer.BYTES + entry.key.length + Long.BYTES + entry.value.length;
+            }
+            return size;
+        }
+    }
+
+    private record Entry(byte[] key, long expiresAt, byte[] value) {
+    }
+}
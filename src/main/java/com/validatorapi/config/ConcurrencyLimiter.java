@@ -0,0 +1,48 @@
+package com.validatorapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+// Borne le nombre d'appels simultanés vers chaque ressource externe (DNS, BDD).
+// DNS séparé en deux réserves : un gros batch ne consomme pas la capacité des validations unitaires
+@Component
+public class ConcurrencyLimiter {
+
+    public enum Resource { DNS, DNS_BATCH, DB }
+
+    private final Map<Resource, Semaphore> permits = new EnumMap<>(Resource.class);
+
+    public ConcurrencyLimiter(@Value("${validator.execution.limits.dns:64}") int dnsPermits,
+                              @Value("${validator.execution.limits.dns-batch:192}") int dnsBatchPermits,
+                              @Value("${validator.execution.limits.db:5}") int dbPermits) {
+        permits.put(Resource.DNS, new Semaphore(dnsPermits));
+        permits.put(Resource.DNS_BATCH, new Semaphore(dnsBatchPermits));
+        permits.put(Resource.DB, new Semaphore(dbPermits));
+    }
+
+    public <T> T call(Resource resource, Supplier<T> action) throws InterruptedException {
+        Semaphore semaphore = permits.get(resource);
+        semaphore.acquire();
+        try {
+            return action.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public void run(Resource resource, Runnable action) throws InterruptedException {
+        call(resource, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public int available(Resource resource) {
+        return permits.get(resource).availablePermits();
+    }
+}
@@ -0,0 +1,126 @@
+package com.validatorapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.*;
+
+// Pools dédiés par type de travail : un gros batch ne peut plus affamer les requêtes unitaires
+@Configuration
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutorRegistry {
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ExecutorService> pools = new ConcurrentHashMap<>();
+
+    // File pleine : le thread appelant exécute la tâche (ralentit le producteur)
+    @Bean(destroyMethod = "")
+    public ExecutorService batchExecutor() {
+        return newPool("batch", 8, 2_000, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // File pleine : rejet immédiat (503), les requêtes interactives ne doivent pas attendre
+    @Bean(destroyMethod = "")
+    public ExecutorService comboExecutor() {
+        return newPool("combo", 16, 200, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // File pleine : l'écriture la plus ancienne est abandonnée
+    @Bean(destroyMethod = "")
+    public ExecutorService historyExecutor() {
+        return newPool("history", 2, 1_000, new ThreadPoolExecutor.DiscardOldestPolicy());
+    }
+
+    // Résolutions MX des validations unitaires : threads alignés sur le limiteur DNS, petite file
+    @Bean(destroyMethod = "")
+    public ExecutorService dnsExecutor() {
+        return newPool("dns", limit("dns", 64), 500, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Résolutions MX des batchs et du streaming : file pleine, le thread du batch résout lui-même (ralentit le batch)
+    @Bean(destroyMethod = "")
+    public ExecutorService batchDnsExecutor() {
+        return newPool("dns-batch", limit("dns-batch", 192), 5_000, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private int limit(String resource, int defaultPermits) {
+        return environment.getProperty("validator.execution.limits." + resource, Integer.class, defaultPermits);
+    }
+
+    private ExecutorService newPool(String name, int defaultThreads, int defaultQueueCapacity,
+                                    RejectedExecutionHandler rejectionPolicy) {
+
+        // Mode virtuel (user-006) : un thread virtuel par tâche, sans file ni rejet ;
+        // la concurrence vers l'extérieur est bornée par ConcurrencyLimiter, pas par la taille du pool
+        if (environment.getProperty("validator.execution.virtual-threads", Boolean.class, false)) {
+            ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name(name + "-", 0).factory());
+            pools.put(name, executor);
+            log.info("Executor '{}': virtual thread per task", name);
+            return ExecutorServiceMetrics.monitor(meterRegistry, executor, name, "validator");
+        }
+
+        String prefix = "validator.execution.pools." + name;
+        int threads = environment.getProperty(prefix + ".threads", Integer.class, defaultThreads);
+        int queueCapacity = environment.getProperty(prefix + ".queue-capacity", Integer.class, defaultQueueCapacity);
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(name + "-"),
+                new CountingRejectionHandler(name, rejectionPolicy));
+        pool.allowCoreThreadTimeOut(true);
+        pools.put(name, pool);
+
+        log.info("Executor '{}': {} platform threads, queue {}", name, threads, queueCapacity);
+
+        // Gauges (taille de file, threads actifs) + timer de latence des tâches
+        return ExecutorServiceMetrics.monitor(meterRegistry, pool, name, "validator");
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Duration timeout = environment.getProperty(
+                "validator.execution.shutdown-timeout", Duration.class, Duration.ofSeconds(30));
+
+        pools.values().forEach(ExecutorService::shutdown);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Map.Entry<String, ExecutorService> entry : pools.entrySet()) {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!entry.getValue().awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+                log.warn("Executor '{}' did not drain in {}, {} tasks dropped",
+                        entry.getKey(), timeout, entry.getValue().shutdownNow().size());
+            }
+        }
+    }
+
+    private class CountingRejectionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+        private final Counter rejected;
+
+        CountingRejectionHandler(String name, RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+            this.rejected = meterRegistry.counter("validator.executor.rejected", "name", name);
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            rejected.increment();
+            delegate.rejectedExecution(task, executor);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.validatorapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.stream.Stream;
+
+// Store partagé sur un répertoire commun (volume monté par toutes les instances).
+// <racine>/<cache>/generation : compteur de génération, incrémenté sous verrou fichier
+// <racine>/<cache>/g<génération>/<2 car.>/<sha1 de la clé> : expiration, clé, valeur
+@Slf4j
+public class FileL2CacheStore implements L2CacheStore {
+
+    private final Path root;
+
+    public FileL2CacheStore(Path root) {
+        this.root = root;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create L2 cache directory " + root, e);
+        }
+    }
+
+    @Override
+    public byte[] get(String cacheName, long generation, String key) {
+        Path file = entryPath(cacheName, generation, key);
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            long expiresAt = in.readLong();
+            if (expiresAt < System.currentTimeMillis() || !key.equals(in.readUTF())) {
+                return null;
+            }
+            return in.readNBytes(in.readInt());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("L2 read failed for {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void put(String cacheName, long generation, String key, byte[] value, Duration ttl) {
+        Path file = entryPath(cacheName, generation, key);
+        try {
+            Files.createDirectories(file.getParent());
+            // Écriture dans un fichier temporaire puis rename : un lecteur ne voit jamais d'entrée partielle
+            Path tmp = Files.createTempFile(file.getParent(), "entry", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tmp))) {
+                out.writeLong(System.currentTimeMillis() + ttl.toMillis());
+                out.writeUTF(key);
+                out.writeInt(value.length);
+                out.write(value);
+            }
+            move(tmp, file);
+        } catch (IOException e) {
+            log.debug("L2 write failed for {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, long generation, String key) {
+        try {
+            Files.deleteIfExists(entryPath(cacheName, generation, key));
+        } catch (IOException e) {
+            log.debug("L2 evict failed for {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public long generation(String cacheName) {
+        try {
+            byte[] bytes = Files.readAllBytes(generationPath(cacheName));
+            return bytes.length == Long.BYTES ? ByteBuffer.wrap(bytes).getLong() : 0;
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public long nextGeneration(String cacheName) {
+        Path path = generationPath(cacheName);
+        try {
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+
+                ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+                long current = channel.read(buffer, 0) == Long.BYTES ? buffer.flip().getLong() : 0;
+                long next = current + 1;
+                channel.write(buffer.clear().putLong(next).flip(), 0);
+                channel.force(false);
+                return next;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Supprime les générations périmées et les entrées expirées
+    @Scheduled(fixedDelayString = "${validator.cache.l2.purge-interval-ms:3600000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+
+        try (DirectoryStream<Path> caches = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path cacheDir : caches) {
+                String current = "g" + generation(cacheDir.getFileName().toString());
+                try (DirectoryStream<Path> generations = Files.newDirectoryStream(cacheDir, Files::isDirectory)) {
+                    for (Path generationDir : generations) {
+                        boolean stale = !generationDir.getFileName().toString().equals(current);
+                        removed += purgeGeneration(generationDir, stale, now);
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("L2 cache purge failed: {}", e.getMessage());
+        }
+
+        if (removed > 0) {
+            log.info("L2 cache purge removed {} entries", removed);
+        }
+    }
+
+    private int purgeGeneration(Path generationDir, boolean stale, long now) throws IOException {
+        int removed = 0;
+        try (Stream<Path> files = Files.walk(generationDir)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (stale || isExpired(file, now)) {
+                    removed += Files.deleteIfExists(file) ? 1 : 0;
+                }
+            }
+        }
+        if (stale) {
+            try (Stream<Path> dirs = Files.walk(generationDir)) {
+                dirs.sorted((a, b) -> b.getNameCount() - a.getNameCount())
+                        .forEach(FileL2CacheStore::deleteQuietly);
+            }
+        }
+        return removed;
+    }
+
+    private static boolean isExpired(Path file, long now) {
+        if (file.getFileName().toString().endsWith(".tmp")) {
+            return true; // Écriture interrompue
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            return in.readLong() < now;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Répertoire repeuplé entre-temps : il sera repris au prochain passage
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path generationPath(String cacheName) {
+        return root.resolve(cacheName).resolve("generation");
+    }
+
+    private Path entryPath(String cacheName, long generation, String key) {
+        String hash = sha1(key);
+        return root.resolve(cacheName)
+                .resolve("g" + generation)
+                .resolve(hash.substring(0, 2))
+                .resolve(hash);
+    }
+
+    private static String sha1(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.validatorapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stand-in embarqué (tests, instance unique) : mêmes sémantiques que le store fichier, sans persistance.
+// Caffeine borné : au-delà de maxEntries les entrées les moins utiles sont évincées, TTL propre à chaque entrée
+public class InMemoryL2CacheStore implements L2CacheStore {
+
+    private final Cache<String, Entry> entries;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public InMemoryL2CacheStore(long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new EntryExpiry())
+                .build();
+    }
+
+    @Override
+    public byte[] get(String cacheName, long generation, String key) {
+        Entry entry = entries.getIfPresent(storeKey(cacheName, generation, key));
+        return entry == null ? null : entry.value;
+    }
+
+    @Override
+    public void put(String cacheName, long generation, String key, byte[] value, Duration ttl) {
+        entries.put(storeKey(cacheName, generation, key), new Entry(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(String cacheName, long generation, String key) {
+        entries.invalidate(storeKey(cacheName, generation, key));
+    }
+
+    @Override
+    public long generation(String cacheName) {
+        return counter(cacheName).get();
+    }
+
+    // Entrées de l'ancienne génération retirées tout de suite plutôt que d'attendre leur éviction
+    @Override
+    public long nextGeneration(String cacheName) {
+        long next = counter(cacheName).incrementAndGet();
+        String prefix = cacheName + ':';
+        String current = prefix + next + ':';
+        entries.asMap().keySet().removeIf(storeKey -> storeKey.startsWith(prefix) && !storeKey.startsWith(current));
+        return next;
+    }
+
+    private AtomicLong counter(String cacheName) {
+        return generations.computeIfAbsent(cacheName, name -> new AtomicLong());
+    }
+
+    private static String storeKey(String cacheName, long generation, String key) {
+        return cacheName + ':' + generation + ':' + key;
+    }
+
+    private record Entry(byte[] value, long ttlNanos) {
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
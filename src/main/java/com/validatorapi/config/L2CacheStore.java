@@ -0,0 +1,19 @@
+package com.validatorapi.config;
+
+import java.time.Duration;
+
+// Niveau de cache partagé entre instances, derrière les caches Caffeine locaux.
+// Les entrées sont rangées par génération : incrémenter la génération d'un cache
+// invalide toutes ses entrées, et les autres instances vident leur L1 en la voyant changer.
+public interface L2CacheStore {
+
+    byte[] get(String cacheName, long generation, String key);
+
+    void put(String cacheName, long generation, String key, byte[] value, Duration ttl);
+
+    void evict(String cacheName, long generation, String key);
+
+    long generation(String cacheName);
+
+    long nextGeneration(String cacheName);
+}
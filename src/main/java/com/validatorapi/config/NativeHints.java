@@ -0,0 +1,31 @@
+package com.validatorapi.config;
+
+import com.validatorapi.service.DisposableFeedClient;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Hints AOT / native-image (mvn -Pnative) : ressources et classes chargées par nom, invisibles à l'analyse statique
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Métadonnées libphonenumber : un fichier par région / indicatif (PhoneNumberMetadataProto_FR, ..._800)
+        hints.resources().registerPattern("com/google/i18n/phonenumbers/data/*");
+
+        // Géocodeur : fichier config + préfixes par indicatif et langue ; seul Locale.ENGLISH est utilisé
+        hints.resources().registerPattern("com/google/i18n/phonenumbers/geocoding/data/config");
+        hints.resources().registerPattern("com/google/i18n/phonenumbers/geocoding/data/*_en");
+
+        // Public Suffix List embarquée (PublicSuffixList)
+        hints.resources().registerPattern("public_suffix_list.dat");
+
+        // validator.disposable.sources lié par Binder (constructeur du record)
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DisposableFeedClient.FeedSource.class);
+
+        // JndiDnsResolver : fabrique JNDI instanciée par réflexion depuis Context.INITIAL_CONTEXT_FACTORY
+        hints.reflection().registerTypeIfPresent(classLoader, "com.sun.jndi.dns.DnsContextFactory",
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
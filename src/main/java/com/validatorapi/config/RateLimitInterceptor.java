@@ -0,0 +1,53 @@
+package com.validatorapi.config;
+
+import com.validatorapi.exception.RateLimitExceededException;
+import com.validatorapi.service.RateLimitService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+// Une unité par appel sur /api/v1/validate/** ; les endpoints batch sont débités par élément dans le contrôleur
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String CLIENT_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".client";
+
+    private static final Set<String> PER_ITEM_PATHS = Set.of(
+            "/api/v1/validate/batch/email",
+            "/api/v1/validate/batch/email/stream"
+    );
+
+    private final RateLimitService rateLimitService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RateLimitService.Client client = rateLimitService.resolveClient(
+                request.getHeader(API_KEY_HEADER), request.getRemoteAddr());
+        request.setAttribute(CLIENT_ATTRIBUTE, client);
+
+        if (!PER_ITEM_PATHS.contains(request.getRequestURI())) {
+            enforce(rateLimitService.tryConsume(client, 1), response);
+        }
+        return true;
+    }
+
+    // En-têtes X-RateLimit-* (fenêtre d'une minute) et X-Quota-* (mois) ; 429 via GlobalExceptionHandler
+    public static void enforce(RateLimitService.Decision decision, HttpServletResponse response) {
+        response.setHeader("X-RateLimit-Limit", String.valueOf(decision.plan().getRequestsPerMinute()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
+        response.setHeader("X-RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        response.setHeader("X-Quota-Limit", String.valueOf(decision.plan().getRequestsPerMonth()));
+        response.setHeader("X-Quota-Remaining", String.valueOf(decision.monthlyRemaining()));
+
+        if (!decision.allowed()) {
+            if (decision.retryAfterSeconds() > 0) {
+                response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
+            }
+            throw new RateLimitExceededException(decision.reason());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.validatorapi.config;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.google.i18n.phonenumbers.geocoding.PhoneNumberOfflineGeocoder;
+import com.validatorapi.service.DisposableDomainIndex;
+import com.validatorapi.service.DisposableDomainService;
+import lombok.extern.slf4j.Slf4j;
+import org.iban4j.CountryCode;
+import org.iban4j.Iban;
+import org.iban4j.IbanUtil;
+import org.iban4j.bban.BbanStructure;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Démarrage en deux temps : l'application accepte le trafic dès ApplicationReadyEvent,
+// les données lourdes se chargent ensuite en parallèle (index jetable, métadonnées libphonenumber, géocodeur, IBAN).
+// Avant la fin du warmup : emails en mode dégradé (liste jetable lue en base, réponses marquées degraded et non cachées),
+// téléphones et IBAN servis normalement, seules les métadonnées du pays demandé sont chargées à la demande.
+// Une tâche en échec (ex : base injoignable) est relancée avec un délai croissant jusqu'à réussir.
+@Component
+@Slf4j
+public class StartupWarmup {
+
+    public enum State {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    // attempts : essais terminés, nextRetryMs : délai avant le prochain (FAILED uniquement)
+    public record Task(State state, long durationMs, String error, int attempts, long nextRetryMs) {
+    }
+
+    private final DisposableDomainService disposableDomainService;
+    private final DisposableDomainIndex disposableDomainIndex;
+    private final List<String> geocoderRegions;
+    private final Duration retryInitialDelay;
+    private final Duration retryMaxDelay;
+
+    private final Map<String, Runnable> steps = new LinkedHashMap<>();
+    private final Map<String, AtomicReference<Task>> tasks = new LinkedHashMap<>(); // Clés fixes après construction
+    private final AtomicInteger remaining = new AtomicInteger();
+
+    private volatile long startedAt;
+    private volatile long durationMs = -1;
+    private volatile ScheduledExecutorService retryScheduler;
+
+    public StartupWarmup(DisposableDomainService disposableDomainService,
+                         DisposableDomainIndex disposableDomainIndex,
+                         @Value("${validator.warmup.geocoder-regions:FR,US,GB,DE,ES,IT,CA,AU,JP,CN}") List<String> geocoderRegions,
+                         @Value("${validator.warmup.retry-initial-delay:5s}") Duration retryInitialDelay,
+                         @Value("${validator.warmup.retry-max-delay:5m}") Duration retryMaxDelay) {
+        this.disposableDomainService = disposableDomainService;
+        this.disposableDomainIndex = disposableDomainIndex;
+        this.geocoderRegions = geocoderRegions;
+        this.retryInitialDelay = retryInitialDelay;
+        this.retryMaxDelay = retryMaxDelay;
+
+        steps.put("disposable_index", this::loadDisposableIndex);
+        steps.put("phone_metadata", this::loadPhoneMetadata);
+        steps.put("geocoder", this::loadGeocoder);
+        steps.put("iban", this::loadIbanStructures);
+        steps.keySet().forEach(name -> tasks.put(name, new AtomicReference<>(new Task(State.PENDING, 0, null, 0, 0))));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("🚀 Application ready, warming up in background...");
+        startedAt = System.currentTimeMillis();
+        remaining.set(steps.size());
+
+        // Threads plateforme : le chargement de l'index tient un verrou pendant la lecture JDBC
+        ExecutorService executor = Executors.newFixedThreadPool(steps.size(), new CustomizableThreadFactory("warmup-"));
+        steps.forEach((name, step) -> executor.execute(() -> run(name, step, 1)));
+        executor.shutdown();
+    }
+
+    public boolean isComplete() {
+        return durationMs >= 0;
+    }
+
+    public long durationMs() {
+        if (isComplete()) {
+            return durationMs;
+        }
+        return startedAt == 0 ? 0 : System.currentTimeMillis() - startedAt;
+    }
+
+    public Map<String, Task> tasks() {
+        Map<String, Task> snapshot = new LinkedHashMap<>();
+        tasks.forEach((name, task) -> snapshot.put(name, task.get()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private void run(String name, Runnable step, int attempt) {
+        AtomicReference<Task> task = tasks.get(name);
+        long startTime = System.currentTimeMillis();
+        task.set(new Task(State.RUNNING, 0, null, attempt - 1, 0));
+        try {
+            step.run();
+            task.set(new Task(State.DONE, System.currentTimeMillis() - startTime, null, attempt, 0));
+            log.info("Warmup {} done in {}ms", name, System.currentTimeMillis() - startTime);
+        } catch (RuntimeException e) {
+            long delayMs = retryDelay(attempt).toMillis();
+            task.set(new Task(State.FAILED, System.currentTimeMillis() - startTime, e.getMessage(), attempt, delayMs));
+            log.error("❌ Warmup {} failed (attempt {}), retrying in {}ms", name, attempt, delayMs, e);
+            retryScheduler().schedule(() -> run(name, step, attempt + 1), delayMs, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        if (remaining.decrementAndGet() == 0) {
+            durationMs = System.currentTimeMillis() - startedAt;
+            log.info("✅ Warmup complete in {}ms", durationMs);
+            if (retryScheduler != null) {
+                retryScheduler.shutdown();
+            }
+        }
+    }
+
+    // initial, x2 à chaque échec, plafonné
+    private Duration retryDelay(int attempt) {
+        Duration delay = retryInitialDelay.multipliedBy(1L << Math.min(attempt - 1, 16));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    private synchronized ScheduledExecutorService retryScheduler() {
+        if (retryScheduler == null) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("warmup-retry-");
+            threadFactory.setDaemon(true);
+            retryScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+        return retryScheduler;
+    }
+
+    // Base vide : téléchargement des listes ; sinon simple lecture de la table
+    private void loadDisposableIndex() {
+        disposableDomainService.initializeIfEmpty();
+        if (!disposableDomainIndex.isLoaded()) {
+            disposableDomainIndex.reload();
+        }
+    }
+
+    // Métadonnées chargées paresseusement par région : un numéro d'exemple par région les charge toutes
+    private void loadPhoneMetadata() {
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        for (String region : phoneUtil.getSupportedRegions()) {
+            PhoneNumber example = phoneUtil.getExampleNumber(region);
+            if (example != null) {
+                phoneUtil.isValidNumber(example);
+            }
+        }
+    }
+
+    // Fichiers de préfixes par indicatif et par langue : seuls les pays configurés, le reste à la demande
+    private void loadGeocoder() {
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        PhoneNumberOfflineGeocoder geocoder = PhoneNumberOfflineGeocoder.getInstance();
+        for (String region : geocoderRegions) {
+            PhoneNumber example = phoneUtil.getExampleNumber(region.trim().toUpperCase(Locale.ROOT));
+            if (example != null) {
+                geocoder.getDescriptionForNumber(example, Locale.ENGLISH);
+            }
+        }
+    }
+
+    private void loadIbanStructures() {
+        for (CountryCode country : BbanStructure.supportedCountries()) {
+            IbanUtil.isValid(Iban.random(country).toString());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.validatorapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// L1 Caffeine local + L2 partagé. Lecture : L1, puis L2 (recopié en L1), puis calcul (écrit dans les deux).
+// Une erreur L2 n'interrompt jamais une validation : elle compte comme un miss.
+@Slf4j
+public class TieredCache implements Cache {
+
+    private final Cache l1;
+    private final L2CacheStore l2;
+    private final CacheCodec<Object> codec;
+    private final Function<Object, Duration> ttl;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+
+    private volatile long generation;
+
+    public TieredCache(Cache l1, L2CacheStore l2, CacheCodec<Object> codec,
+                       Function<Object, Duration> ttl, MeterRegistry meterRegistry) {
+        this.l1 = l1;
+        this.l2 = l2;
+        this.codec = codec;
+        this.ttl = ttl;
+
+        this.l1Hits = requests(meterRegistry, "l1", "hit");
+        this.l1Misses = requests(meterRegistry, "l1", "miss");
+        this.l2Hits = requests(meterRegistry, "l2", "hit");
+        this.l2Misses = requests(meterRegistry, "l2", "miss");
+        this.l2Errors = Counter.builder("validator.cache.l2.errors")
+                .tag("cache", l1.getName())
+                .register(meterRegistry);
+
+        try {
+            this.generation = l2.generation(l1.getName());
+        } catch (RuntimeException e) {
+            l2Error("generation", e);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return l1.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l1.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = l1.get(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        Object shared = readL2(key);
+        if (shared == null) {
+            return null;
+        }
+        l1.put(key, shared);
+        return new SimpleValueWrapper(shared);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] missed = new boolean[1];
+        T value = l1.get(key, () -> {
+            missed[0] = true;
+            @SuppressWarnings("unchecked")
+            T shared = (T) readL2(key);
+            if (shared != null) {
+                return shared;
+            }
+            T loaded = valueLoader.call();
+            writeL2(key, loaded);
+            return loaded;
+        });
+        (missed[0] ? l1Misses : l1Hits).increment();
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        CompletableFuture<?> local = l1.retrieve(key);
+        if (local != null) {
+            l1Hits.increment();
+            return local;
+        }
+        l1Misses.increment();
+
+        Object shared = readL2(key);
+        if (shared == null) {
+            return null;
+        }
+        l1.put(key, shared);
+        return CompletableFuture.completedFuture(shared);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        boolean[] missed = new boolean[1];
+        CompletableFuture<T> value = l1.retrieve(key, () -> {
+            missed[0] = true;
+            @SuppressWarnings("unchecked")
+            T shared = (T) readL2(key);
+            if (shared != null) {
+                return CompletableFuture.completedFuture(shared);
+            }
+            return valueLoader.get().thenApply(loaded -> {
+                writeL2(key, loaded);
+                return loaded;
+            });
+        });
+        (missed[0] ? l1Misses : l1Hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l1.put(key, value);
+        writeL2(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        l1.evict(key);
+        try {
+            l2.evict(getName(), generation, key.toString());
+        } catch (RuntimeException e) {
+            l2Error("evict", e);
+        }
+    }
+
+    // Nouvelle génération L2 : les autres instances vident leur L1 au prochain sync()
+    @Override
+    public void clear() {
+        l1.clear();
+        try {
+            generation = l2.nextGeneration(getName());
+        } catch (RuntimeException e) {
+            l2Error("clear", e);
+        }
+    }
+
+    // Invalidation near-cache : une génération L2 différente signifie un clear() sur une autre instance.
+    // En deux temps (TieredCacheManager.sync) pour recharger les données dépendantes avant de reprendre
+    long l2Generation() {
+        return l2.generation(getName());
+    }
+
+    boolean isCurrent(long l2Generation) {
+        return l2Generation == generation;
+    }
+
+    void adopt(long l2Generation) {
+        generation = l2Generation;
+        l1.clear();
+        log.info("Cache {} invalidated by another instance (generation {})", getName(), l2Generation);
+    }
+
+    private Object readL2(Object key) {
+        try {
+            byte[] data = l2.get(getName(), generation, key.toString());
+            Object value = data != null ? CacheCodecs.decode(codec, data) : null;
+            (value != null ? l2Hits : l2Misses).increment();
+            return value;
+        } catch (RuntimeException e) {
+            l2Error("read", e);
+            l2Misses.increment();
+            return null;
+        }
+    }
+
+    private void writeL2(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        try {
+            l2.put(getName(), generation, key.toString(), CacheCodecs.encode(codec, value), ttl.apply(value));
+        } catch (RuntimeException e) {
+            l2Error("write", e);
+        }
+    }
+
+    private void l2Error(String operation, RuntimeException e) {
+        l2Errors.increment();
+        log.warn("L2 cache {} failed on {}: {}", operation, getName(), e.getMessage());
+    }
+
+    private Counter requests(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("validator.cache.requests")
+                .tag("cache", l1.getName())
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
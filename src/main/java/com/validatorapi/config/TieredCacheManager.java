@@ -0,0 +1,111 @@
+package com.validatorapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+// Enveloppe le CacheManager Caffeine : chaque cache muni d'un codec reçoit un niveau L2
+@Slf4j
+public class TieredCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final L2CacheStore l2;
+    private final BiFunction<String, Object, Duration> ttl;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+    private final Map<String, Runnable> beforeRemoteClear;
+
+    // beforeRemoteClear : par cache, rechargement des données dont ses valeurs dépendent (même Runnable = exécuté une fois)
+    public TieredCacheManager(CacheManager delegate, L2CacheStore l2,
+                              BiFunction<String, Object, Duration> ttl, MeterRegistry meterRegistry,
+                              Map<String, Runnable> beforeRemoteClear) {
+        this.delegate = delegate;
+        this.l2 = l2;
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+        this.beforeRemoteClear = beforeRemoteClear;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache local = delegate.getCache(name);
+        if (local == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> tiered(local));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    // Génération adoptée seulement après le rechargement des données dépendantes : sinon le cache serait
+    // recalculé avec l'état périmé de cette instance et réécrit en L2 sous la nouvelle génération
+    @Scheduled(fixedDelayString = "${validator.cache.l2.sync-interval-ms:5000}")
+    public void sync() {
+        Map<TieredCache, Long> changed = new LinkedHashMap<>();
+        for (Cache cache : caches.values()) {
+            if (cache instanceof TieredCache tiered) {
+                try {
+                    long generation = tiered.l2Generation();
+                    if (!tiered.isCurrent(generation)) {
+                        changed.put(tiered, generation);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("L2 generation check failed for {}: {}", cache.getName(), e.getMessage());
+                }
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Set<Runnable> reloads = new LinkedHashSet<>();
+        changed.keySet().forEach(cache -> {
+            Runnable reload = beforeRemoteClear.get(cache.getName());
+            if (reload != null) {
+                reloads.add(reload);
+            }
+        });
+        try {
+            reloads.forEach(Runnable::run);
+        } catch (RuntimeException e) {
+            // Ancienne génération conservée : nouvel essai au prochain sync
+            log.warn("Reload before remote cache invalidation failed: {}", e.getMessage());
+            return;
+        }
+        changed.forEach(TieredCache::adopt);
+    }
+
+    private Cache tiered(Cache local) {
+        CacheCodec<Object> codec = CacheCodecs.forCache(local.getName());
+        if (codec == null) {
+            return local;
+        }
+
+        // Les métriques Caffeine de Spring Boot ne reconnaissent que CaffeineCache : on lie le L1 ici
+        if (local.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            CaffeineCacheMetrics.monitor(meterRegistry, nativeCache, local.getName(), "cache.manager", "cacheManager");
+        }
+
+        String name = local.getName();
+        return new TieredCache(local, l2, codec, value -> ttl.apply(name, value), meterRegistry);
+    }
+}
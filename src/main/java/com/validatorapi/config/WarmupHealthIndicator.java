@@ -0,0 +1,62 @@
+package com.validatorapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Indicateur "warmup" du groupe readiness (/actuator/health/readiness) : progression tâche par tâche.
+// Par défaut UP dès le démarrage (mode dégradé) ; validator.warmup.block-readiness=true : OUT_OF_SERVICE jusqu'à la fin.
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmup warmup;
+    private final boolean blockReadiness;
+
+    public WarmupHealthIndicator(StartupWarmup warmup,
+                                 @Value("${validator.warmup.block-readiness:false}") boolean blockReadiness) {
+        this.warmup = warmup;
+        this.blockReadiness = blockReadiness;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> tasks = new LinkedHashMap<>();
+        long done = 0;
+        boolean disposableReady = false;
+        for (Map.Entry<String, StartupWarmup.Task> entry : warmup.tasks().entrySet()) {
+            StartupWarmup.Task task = entry.getValue();
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("state", task.state());
+            if (task.state() == StartupWarmup.State.DONE || task.state() == StartupWarmup.State.FAILED) {
+                detail.put("duration_ms", task.durationMs());
+            }
+            if (task.state() == StartupWarmup.State.DONE) {
+                done++;
+            }
+            if (task.attempts() > 1 || task.state() == StartupWarmup.State.FAILED) {
+                detail.put("attempts", task.attempts());
+            }
+            if (task.error() != null) {
+                detail.put("error", task.error());
+                detail.put("next_retry_ms", task.nextRetryMs());
+            }
+            if (entry.getKey().equals("disposable_index")) {
+                disposableReady = task.state() == StartupWarmup.State.DONE;
+            }
+            tasks.put(entry.getKey(), detail);
+        }
+
+        Health.Builder builder = warmup.isComplete() || !blockReadiness ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("complete", warmup.isComplete())
+                .withDetail("progress", done + "/" + tasks.size())
+                .withDetail("elapsed_ms", warmup.durationMs())
+                .withDetail("mode", disposableReady ? "normal" : "degraded")
+                .withDetail("tasks", tasks)
+                .build();
+    }
+}
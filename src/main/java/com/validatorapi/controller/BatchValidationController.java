@@ -1,15 +1,24 @@
 package com.validatorapi.controller;
 
+import com.validatorapi.config.RateLimitInterceptor;
 import com.validatorapi.dto.*;
 import com.validatorapi.service.BatchValidationService;
 import com.validatorapi.service.ComboValidationService;
+import com.validatorapi.service.RateLimitService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
 @RestController
 @RequestMapping("/api/v1/validate")
 @RequiredArgsConstructor
@@ -18,12 +27,20 @@ public class BatchValidationController {
 
     private final BatchValidationService batchValidationService;
     private final ComboValidationService comboValidationService;
+    private final RateLimitService rateLimitService;
 
     @PostMapping("/batch/email")
     @Operation(summary = "Batch email validation",
             description = "Validate up to 1000 emails in parallel")
     public ResponseEntity<BatchEmailValidationResponse> validateBatchEmail(
-            @Valid @RequestBody BatchEmailValidationRequest request) {
+            @Valid @RequestBody BatchEmailValidationRequest request,
+            HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse) {
+
+        // Débit par adresse, avant tout travail
+        if (httpRequest.getAttribute(RateLimitInterceptor.CLIENT_ATTRIBUTE) instanceof RateLimitService.Client client) {
+            RateLimitInterceptor.enforce(rateLimitService.tryConsume(client, request.getEmails().size()), httpResponse);
+        }
 
         BatchEmailValidationResponse response =
                 batchValidationService.validateBatch(request.getEmails());
@@ -31,6 +48,25 @@ public class BatchValidationController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/batch/email/stream",
+            consumes = {MediaType.TEXT_PLAIN_VALUE, "text/csv", MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Streaming batch email validation",
+            description = "Validate an unbounded newline-delimited list, one NDJSON result line per email")
+    public void validateBatchEmailStream(HttpServletRequest request,
+                                         HttpServletResponse response) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        // Débit ligne par ligne : le flux s'arrête sur une ligne d'erreur quand la limite est atteinte
+        BooleanSupplier permit = request.getAttribute(RateLimitInterceptor.CLIENT_ATTRIBUTE) instanceof RateLimitService.Client client
+                ? () -> rateLimitService.tryConsume(client, 1).allowed()
+                : () -> true;
+
+        batchValidationService.validateStream(request.getInputStream(), response.getOutputStream(), permit);
+    }
+
     @PostMapping("/combo")
     @Operation(summary = "Combo validation (Email + Phone)",
             description = "Validate email and phone in one request")
@@ -3,6 +3,7 @@ package com.validatorapi.controller;
 import com.validatorapi.dto.EmailValidationRequest;
 import com.validatorapi.dto.EmailValidationResponse;
 import com.validatorapi.service.EmailValidatorService;
+import com.validatorapi.service.ValidationStageMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/validate")
 @RequiredArgsConstructor
@@ -17,24 +20,35 @@ import org.springframework.web.bind.annotation.*;
 public class EmailValidationController {
 
     private final EmailValidatorService emailValidatorService;
+    private final ValidationStageMetrics stageMetrics;
 
     @PostMapping("/email")
     @Operation(summary = "Validate email address",
             description = "Validates email syntax, domain, MX records, and detects disposable emails")
     public ResponseEntity<EmailValidationResponse> validateEmail(
-            @Valid @RequestBody EmailValidationRequest request) {
+            @Valid @RequestBody EmailValidationRequest request,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         EmailValidationResponse response = emailValidatorService.validate(request.getEmail());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
     }
 
     @GetMapping("/email")
     @Operation(summary = "Validate email via GET",
             description = "Alternative GET endpoint for simple validation")
     public ResponseEntity<EmailValidationResponse> validateEmailGet(
-            @RequestParam String email) {
+            @RequestParam String email,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         EmailValidationResponse response = emailValidatorService.validate(email);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
+    }
+
+    // Copie : la réponse peut être l'instance partagée du cache
+    private EmailValidationResponse withStageTimings(EmailValidationResponse response) {
+        Map<String, Double> timings = stageMetrics.capturedTimings();
+        return timings == null ? response : response.toBuilder().stageTimings(timings).build();
     }
 }
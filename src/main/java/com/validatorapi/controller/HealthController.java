@@ -2,11 +2,13 @@ package com.validatorapi.controller;
 
 import com.validatorapi.model.DisposableDomain;
 import com.validatorapi.repository.DisposableDomainRepository;
-import com.validatorapi.repository.ValidationHistoryRepository;
+import com.validatorapi.service.DisposableDomainIndex;
+import com.validatorapi.service.ValidationStatsService;
 import io.swagger.v3.oas.annotations.Hidden;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -16,21 +18,31 @@ import java.util.Map;
 public class HealthController {
 
     private final DisposableDomainRepository disposableDomainRepository;
-    private final ValidationHistoryRepository validationHistoryRepository;
+    private final DisposableDomainIndex disposableDomainIndex;
+    private final ValidationStatsService validationStats;
 
+    // Réponse en O(1) : index en mémoire + compteurs agrégés, aucun COUNT(*)
     @GetMapping
     public Map<String, Object> getStats() {
-        return Map.of(
-                "disposable_domains_count", disposableDomainRepository.count(),
-                "total_validations", validationHistoryRepository.count(),
-                "status", "healthy"
-        );
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("disposable_domains_count", disposableDomainIndex.size());
+        stats.put("total_validations", validationStats.totalValidations());
+        stats.put("by_type", validationStats.breakdown());
+        stats.put("status", "healthy");
+        return stats;
     }
 
     @PostMapping("/add-disposable/{domain}")
     public Map<String, Object> addDisposable(@PathVariable String domain) {
         domain = domain.toLowerCase();
 
+        if (!DisposableDomainIndex.isAcceptedEntry(domain)) {
+            return Map.of(
+                    "status", "rejected_public_suffix",
+                    "domain", domain
+            );
+        }
+
         if (disposableDomainRepository.existsByDomain(domain)) {
             return Map.of(
                     "status", "already_exists",
@@ -40,11 +52,12 @@ public class HealthController {
 
         DisposableDomain newDomain = new DisposableDomain(domain, "MANUAL");
         disposableDomainRepository.save(newDomain);
+        disposableDomainIndex.add(domain);
 
         return Map.of(
                 "status", "added",
                 "domain", domain,
-                "total_count", disposableDomainRepository.count()
+                "total_count", disposableDomainIndex.size()
         );
     }
 
@@ -3,6 +3,7 @@ package com.validatorapi.controller;
 import com.validatorapi.dto.IbanValidationRequest;
 import com.validatorapi.dto.IbanValidationResponse;
 import com.validatorapi.service.IbanValidatorService;
+import com.validatorapi.service.ValidationStageMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/validate")
 @RequiredArgsConstructor
@@ -17,23 +20,34 @@ import org.springframework.web.bind.annotation.*;
 public class IbanValidationController {
 
     private final IbanValidatorService ibanValidatorService;
+    private final ValidationStageMetrics stageMetrics;
 
     @PostMapping("/iban")
     @Operation(summary = "Validate IBAN",
-            description = "Validates IBAN format for 89 countries")
+            description = "Validates IBAN format for the 95 countries of the IBAN registry")
     public ResponseEntity<IbanValidationResponse> validateIban(
-            @Valid @RequestBody IbanValidationRequest request) {
+            @Valid @RequestBody IbanValidationRequest request,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         IbanValidationResponse response = ibanValidatorService.validate(request.getIban());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
     }
 
     @GetMapping("/iban")
     @Operation(summary = "Validate IBAN via GET")
     public ResponseEntity<IbanValidationResponse> validateIbanGet(
-            @RequestParam String iban) {
+            @RequestParam String iban,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         IbanValidationResponse response = ibanValidatorService.validate(iban);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
+    }
+
+    // Copie : la réponse peut être l'instance partagée du cache
+    private IbanValidationResponse withStageTimings(IbanValidationResponse response) {
+        Map<String, Double> timings = stageMetrics.capturedTimings();
+        return timings == null ? response : response.toBuilder().stageTimings(timings).build();
     }
 }
\ No newline at end of file
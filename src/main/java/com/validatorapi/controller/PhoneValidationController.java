@@ -3,6 +3,7 @@ package com.validatorapi.controller;
 import com.validatorapi.dto.PhoneValidationRequest;
 import com.validatorapi.dto.PhoneValidationResponse;
 import com.validatorapi.service.PhoneValidatorService;
+import com.validatorapi.service.ValidationStageMetrics;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -10,6 +11,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/validate")
 @RequiredArgsConstructor
@@ -17,28 +20,39 @@ import org.springframework.web.bind.annotation.*;
 public class PhoneValidationController {
 
     private final PhoneValidatorService phoneValidatorService;
+    private final ValidationStageMetrics stageMetrics;
 
     @PostMapping("/phone")
     @Operation(summary = "Validate phone number",
             description = "Validates phone number format for 180+ countries")
     public ResponseEntity<PhoneValidationResponse> validatePhone(
-            @Valid @RequestBody PhoneValidationRequest request) {
+            @Valid @RequestBody PhoneValidationRequest request,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         PhoneValidationResponse response = phoneValidatorService.validate(
                 request.getPhone(),
                 request.getCountry()
         );
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
     }
 
     @GetMapping("/phone")
     @Operation(summary = "Validate phone via GET")
     public ResponseEntity<PhoneValidationResponse> validatePhoneGet(
             @RequestParam String phone,
-            @RequestParam(required = false) String country) {
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "false") boolean debug) {
 
+        stageMetrics.captureTimings(debug);
         PhoneValidationResponse response = phoneValidatorService.validate(phone, country);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(withStageTimings(response));
+    }
+
+    // Copie : la réponse peut être l'instance partagée du cache
+    private PhoneValidationResponse withStageTimings(PhoneValidationResponse response) {
+        Map<String, Double> timings = stageMetrics.capturedTimings();
+        return timings == null ? response : response.toBuilder().stageTimings(timings).build();
     }
 }
\ No newline at end of file
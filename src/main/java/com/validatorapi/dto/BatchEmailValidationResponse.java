@@ -15,6 +15,12 @@ public class BatchEmailValidationResponse {
     private Integer valid;
     private Integer invalid;
 
+    @JsonProperty("distinct_domains")
+    private Integer distinctDomains;
+
+    @JsonProperty("domain_resolutions_saved")
+    private Integer domainResolutionsSaved;
+
     @JsonProperty("processing_time_ms")
     private Long processingTimeMs;
 
@@ -1,12 +1,14 @@
 package com.validatorapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class EmailValidationResponse {
 
     private String email;
@@ -45,6 +47,13 @@ public class EmailValidationResponse {
     @JsonProperty("validation_time_ms")
     private Long validationTimeMs;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean degraded; // true pendant le warmup : liste jetable lue en base, réponse non mise en cache
+
+    @JsonProperty("stage_timings")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> stageTimings; // Debug uniquement (ms par étape), jamais mis en cache
+
     @JsonProperty("checked_at")
     private LocalDateTime checkedAt;
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.validatorapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class IbanValidationResponse {
 
     private String iban;
@@ -28,6 +30,10 @@ public class IbanValidationResponse {
     @JsonProperty("account_number")
     private String accountNumber;
 
+    @JsonProperty("national_check_digits")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nationalCheckDigits; // Clé nationale (RIB FR, ES...), selon le pays
+
     private String bic;
 
     @JsonProperty("bank_name")
@@ -39,6 +45,10 @@ public class IbanValidationResponse {
     @JsonProperty("validation_time_ms")
     private Long validationTimeMs;
 
+    @JsonProperty("stage_timings")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> stageTimings; // Debug uniquement (ms par étape), jamais mis en cache
+
     @JsonProperty("checked_at")
     private LocalDateTime checkedAt;
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package com.validatorapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class PhoneValidationResponse {
 
     private String phone;
@@ -38,6 +40,10 @@ public class PhoneValidationResponse {
     @JsonProperty("validation_time_ms")
     private Long validationTimeMs;
 
+    @JsonProperty("stage_timings")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Double> stageTimings; // Debug uniquement (ms par étape), jamais mis en cache
+
     @JsonProperty("checked_at")
     private LocalDateTime checkedAt;
 }
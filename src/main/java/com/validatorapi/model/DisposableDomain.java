@@ -24,7 +24,7 @@ public class DisposableDomain {
     private LocalDateTime addedAt = LocalDateTime.now();
 
     @Column(length = 50)
-    private String source; // GITHUB, MANUAL
+    private String source; // Nom de la source (validator.disposable.sources), MANUAL
 
     public DisposableDomain(String domain, String source) {
         this.domain = domain;
@@ -6,13 +6,23 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "validation_history")
+@Table(name = "validation_history", indexes = {
+        @Index(name = "idx_history_created_at", columnList = "created_at"),
+        @Index(name = "idx_history_type_created_at", columnList = "validation_type, created_at"),
+        @Index(name = "idx_history_api_key_created_at", columnList = "api_key, created_at")
+})
 @Data
 @NoArgsConstructor
 public class ValidationHistory {
 
+    public static final String SEQUENCE_NAME = "validation_history_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Séquence allouée par blocs (pooled-lo) : compatible avec le batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "validation_history_seq")
+    @SequenceGenerator(name = "validation_history_seq", sequenceName = ValidationHistory.SEQUENCE_NAME,
+            allocationSize = ValidationHistory.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 20)
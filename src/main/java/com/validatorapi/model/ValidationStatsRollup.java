@@ -0,0 +1,28 @@
+package com.validatorapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "validation_stats_rollup")
+@Data
+@NoArgsConstructor
+public class ValidationStatsRollup {
+
+    @Id
+    @Column(length = 100)
+    private String metric; // EMAIL.total, PHONE.risk.50-74, IBAN.latency.lt10ms...
+
+    @Column(name = "metric_value", nullable = false) // "value" est réservé en H2
+    private Long value;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    public ValidationStatsRollup(String metric, Long value) {
+        this.metric = metric;
+        this.value = value;
+    }
+}
@@ -5,11 +5,19 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface DisposableDomainRepository extends JpaRepository<DisposableDomain, Long> {
 
     boolean existsByDomain(String domain);
 
+    boolean existsByDomainIn(Collection<String> domains);
+
     @Query("SELECT COUNT(d) FROM DisposableDomain d")
     long countAll();
+
+    @Query("SELECT d.domain FROM DisposableDomain d")
+    List<String> findAllDomains();
 }
\ No newline at end of file
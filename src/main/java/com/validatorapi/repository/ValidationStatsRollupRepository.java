@@ -0,0 +1,22 @@
+package com.validatorapi.repository;
+
+import com.validatorapi.model.ValidationStatsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ValidationStatsRollupRepository extends JpaRepository<ValidationStatsRollup, String> {
+
+    // Incrément relatif : plusieurs instances peuvent écrire sur la même ligne
+    @Modifying
+    @Query("UPDATE ValidationStatsRollup r SET r.value = r.value + :delta, r.updatedAt = :now WHERE r.metric = :metric")
+    int increment(@Param("metric") String metric, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    List<ValidationStatsRollup> findByMetricStartingWith(String prefix);
+}
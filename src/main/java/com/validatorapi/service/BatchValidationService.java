@@ -1,42 +1,86 @@
 package com.validatorapi.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.validatorapi.dto.BatchEmailValidationResponse;
 import com.validatorapi.dto.EmailValidationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BatchValidationService {
 
+    // Flush de la sortie NDJSON : dès 8 Ko en attente ou 200 ms après le précédent, et en fin de flux
+    private static final int STREAM_FLUSH_BYTES = 8192;
+    private static final long STREAM_FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
     private final EmailValidatorService emailValidatorService;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private final DomainFactsService domainFactsService;
+    private final ObjectMapper objectMapper;
+
+    @Qualifier("batchExecutor")
+    private final ExecutorService executorService;
+
+    @Value("${validator.batch.stream-concurrency:64}")
+    private int streamConcurrency;
 
     public BatchEmailValidationResponse validateBatch(List<String> emails) {
         long startTime = System.currentTimeMillis();
 
         log.info("Starting batch validation for {} emails", emails.size());
 
-        List<CompletableFuture<EmailValidationResponse>> futures = emails.stream()
-                .map(email -> CompletableFuture.supplyAsync(
-                        () -> emailValidatorService.validate(email),
-                        executorService
-                ))
-                .toList();
+        // Passe 1 : normalisation, syntaxe et regroupement par domaine
+        List<String> normalized = new ArrayList<>(emails.size());
+        List<String> domains = new ArrayList<>(emails.size());
+        Map<String, CompletableFuture<DomainFacts>> factsByDomain = new HashMap<>();
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        for (String email : emails) {
+            String normalizedEmail = emailValidatorService.normalize(email);
+            String domain = emailValidatorService.extractDomain(normalizedEmail);
 
-        List<EmailValidationResponse> validationResults = futures.stream()
-                .map(CompletableFuture::join)
-                .toList();
+            normalized.add(normalizedEmail);
+            domains.add(domain);
+
+            if (domain != null) {
+                factsByDomain.computeIfAbsent(domain, domainFactsService::resolveForBatchAsync);
+            }
+        }
+
+        // Une seule résolution par domaine distinct
+        CompletableFuture.allOf(factsByDomain.values().toArray(new CompletableFuture<?>[0])).join();
+
+        int syntaxValidCount = (int) domains.stream().filter(Objects::nonNull).count();
+        int resolutionsSaved = syntaxValidCount - factsByDomain.size();
+
+        // Passe 2 : contrôles propres à chaque adresse, sur place (faits déjà résolus, cache emailValidation lu et rempli)
+        List<EmailValidationResponse> validationResults = new ArrayList<>(emails.size());
+        for (int i = 0; i < normalized.size(); i++) {
+            String email = normalized.get(i);
+            String domain = domains.get(i);
+
+            validationResults.add(domain == null
+                    ? emailValidatorService.invalidSyntax(email, System.nanoTime())
+                    : emailValidatorService.validate(email, factsByDomain.get(domain).join(), System.nanoTime()));
+        }
 
         long validCount = validationResults.stream()
                 .filter(EmailValidationResponse::getValid)
@@ -48,19 +92,132 @@ public class BatchValidationService {
 
         long processingTime = System.currentTimeMillis() - startTime;
 
-        log.info("Batch completed: {} valid, {} invalid, {}ms",
-                validCount, emails.size() - validCount, processingTime);
+        log.info("Batch completed: {} valid, {} invalid, {} distinct domains ({} resolutions saved), {}ms",
+                validCount, emails.size() - validCount, factsByDomain.size(), resolutionsSaved, processingTime);
 
         return BatchEmailValidationResponse.builder()
                 .total(emails.size())
                 .valid((int) validCount)
                 .invalid((int) (emails.size() - validCount))
+                .distinctDomains(factsByDomain.size())
+                .domainResolutionsSaved(resolutionsSaved)
                 .processingTimeMs(processingTime)
                 .checkedAt(LocalDateTime.now())
                 .results(simplifiedResults)
                 .build();
     }
 
+    // Entrée ligne par ligne, une ligne NDJSON écrite dès que son résultat est prêt.
+    // Le sémaphore borne les validations en vol : la lecture s'arrête tant qu'il est épuisé.
+    // permit : débit d'une unité par adresse, false = limite atteinte, dernière ligne en erreur
+    public void validateStream(InputStream input, OutputStream output, BooleanSupplier permit) throws IOException {
+        long startTime = System.currentTimeMillis();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Semaphore inFlight = new Semaphore(streamConcurrency);
+        StreamWriter writer = new StreamWriter(output);
+        AtomicReference<IOException> writeFailure = new AtomicReference<>();
+        AtomicLong validCount = new AtomicLong();
+        long total = 0;
+        boolean firstRecord = true;
+
+        try {
+            String line;
+            while (writeFailure.get() == null && (line = reader.readLine()) != null) {
+                String email = extractStreamEmail(line);
+                if (email == null) {
+                    continue;
+                }
+                // En-tête CSV ("email,nom,...") : première ligne sans '@' ignorée, non débitée
+                if (firstRecord) {
+                    firstRecord = false;
+                    if (email.indexOf('@') < 0) {
+                        log.debug("Skipping header line: {}", email);
+                        continue;
+                    }
+                }
+                if (!permit.getAsBoolean()) {
+                    inFlight.acquire(streamConcurrency);
+                    writer.write(Map.of("email", email, "error", "rate_limit_exceeded"));
+                    inFlight.release(streamConcurrency);
+                    log.info("Streaming batch stopped by rate limit after {} emails", total);
+                    break;
+                }
+
+                inFlight.acquire();
+                total++;
+
+                validateAsync(email).whenComplete((response, error) -> {
+                    try {
+                        Map<String, Object> result = error == null
+                                ? simplifyResult(response)
+                                : Map.of("email", email, "error", "validation_failed");
+                        if (Boolean.TRUE.equals(result.get("valid"))) {
+                            validCount.incrementAndGet();
+                        }
+                        writer.write(result);
+                    } catch (IOException e) {
+                        writeFailure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+
+            // Attente des dernières validations en vol
+            inFlight.acquire(streamConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Streaming batch interrupted");
+        }
+
+        if (writeFailure.get() != null) {
+            throw writeFailure.get();
+        }
+        writer.flush();
+
+        log.info("Streaming batch completed: {} emails, {} valid, {}ms",
+                total, validCount.get(), System.currentTimeMillis() - startTime);
+    }
+
+    private CompletableFuture<EmailValidationResponse> validateAsync(String rawEmail) {
+        long startTime = System.nanoTime();
+        String email = emailValidatorService.normalize(rawEmail);
+        String domain = emailValidatorService.extractDomain(email);
+
+        if (domain == null) {
+            return CompletableFuture.completedFuture(emailValidatorService.invalidSyntax(email, startTime));
+        }
+
+        return domainFactsService.resolveForBatchAsync(domain)
+                .thenApplyAsync(facts -> emailValidatorService.validate(email, facts, startTime), executorService);
+    }
+
+    // Accepte une adresse brute, une ligne CSV (première colonne, en-tête toléré) ou un objet JSON {"email": ...}
+    private String extractStreamEmail(String line) {
+        String trimmed = line.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+
+        if (trimmed.startsWith("{")) {
+            try {
+                JsonNode email = objectMapper.readTree(trimmed).get("email");
+                return email != null && email.isTextual() ? email.asText() : null;
+            } catch (JsonProcessingException e) {
+                log.debug("Skipping malformed NDJSON line: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        int comma = trimmed.indexOf(',');
+        String field = comma >= 0 ? trimmed.substring(0, comma).trim() : trimmed;
+        if (field.length() >= 2 && field.startsWith("\"") && field.endsWith("\"")) {
+            field = field.substring(1, field.length() - 1);
+        }
+        return field.isEmpty() ? null : field;
+    }
+
     private Map<String, Object> simplifyResult(EmailValidationResponse response) {
         Map<String, Object> simplified = new HashMap<>();
         simplified.put("email", response.getEmail());
@@ -69,4 +226,48 @@ public class BatchValidationService {
         simplified.put("risk_score", response.getRiskScore());
         return simplified;
     }
-}
\ No newline at end of file
+
+    // Lignes écrites sous verrou, flush groupé plutôt qu'à chaque ligne.
+    // ReentrantLock plutôt que synchronized : l'écriture bloquante n'épingle pas le thread virtuel porteur
+    private final class StreamWriter {
+
+        private final OutputStream output;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int pendingBytes;
+        private long lastFlush = System.nanoTime();
+
+        StreamWriter(OutputStream output) {
+            this.output = output;
+        }
+
+        void write(Map<String, Object> result) throws IOException {
+            byte[] json = objectMapper.writeValueAsBytes(result);
+            lock.lock();
+            try {
+                output.write(json);
+                output.write('\n');
+                pendingBytes += json.length + 1;
+                if (pendingBytes >= STREAM_FLUSH_BYTES || System.nanoTime() - lastFlush >= STREAM_FLUSH_INTERVAL_NANOS) {
+                    flushLocked();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void flush() throws IOException {
+            lock.lock();
+            try {
+                flushLocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flushLocked() throws IOException {
+            output.flush();
+            pendingBytes = 0;
+            lastFlush = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.validatorapi.service;
+
+// Filtre de Bloom minimal (double hashing) utilisé en frontal de l'index disposable
+final class BloomFilter {
+
+    private final long[] bits;
+    private final int numBits;
+    private final int numHashes;
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.bits = new long[(numBits + 63) >>> 6];
+        this.numBits = bits.length << 6;
+        this.numHashes = numHashes;
+    }
+
+    static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        int n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter((int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m)), k);
+    }
+
+    void put(CharSequence value) {
+        long h1 = hash(value, 0, value.length(), 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, 0, value.length(), 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(CharSequence value) {
+        return mightContain(value, 0, value.length());
+    }
+
+    // Test sur une sous-séquence [from, to) sans allocation
+    boolean mightContain(CharSequence value, int from, int to) {
+        long h1 = hash(value, from, to, 0x9E3779B97F4A7C15L);
+        long h2 = hash(value, from, to, 0xC2B2AE3D27D4EB4FL) | 1L;
+        for (int i = 0; i < numHashes; i++) {
+            int bit = (int) Long.remainderUnsigned(h1 + i * h2, numBits);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(CharSequence value, int from, int to, long seed) {
+        long h = seed ^ (to - from);
+        for (int i = from; i < to; i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+            h ^= h >>> 29;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
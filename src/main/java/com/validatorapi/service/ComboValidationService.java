@@ -5,10 +5,12 @@ import com.validatorapi.dto.EmailValidationResponse;
 import com.validatorapi.dto.PhoneValidationResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
 @Service
 @RequiredArgsConstructor
@@ -18,16 +20,19 @@ public class ComboValidationService {
     private final EmailValidatorService emailValidatorService;
     private final PhoneValidatorService phoneValidatorService;
 
+    @Qualifier("comboExecutor")
+    private final ExecutorService executorService;
+
     public ComboValidationResponse validateCombo(String email, String phone, String country) {
         long startTime = System.currentTimeMillis();
 
         log.info("Combo validation: {} | {}", email, phone);
 
         CompletableFuture<EmailValidationResponse> emailFuture =
-                CompletableFuture.supplyAsync(() -> emailValidatorService.validate(email));
+                CompletableFuture.supplyAsync(() -> emailValidatorService.validate(email), executorService);
 
         CompletableFuture<PhoneValidationResponse> phoneFuture =
-                CompletableFuture.supplyAsync(() -> phoneValidatorService.validate(phone, country));
+                CompletableFuture.supplyAsync(() -> phoneValidatorService.validate(phone, country), executorService);
 
         CompletableFuture.allOf(emailFuture, phoneFuture).join();
 
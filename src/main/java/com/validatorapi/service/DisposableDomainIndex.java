@@ -0,0 +1,152 @@
+package com.validatorapi.service;
+
+import com.validatorapi.repository.DisposableDomainRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DisposableDomainIndex {
+
+    private static final double BLOOM_FALSE_POSITIVE_RATE = 0.01;
+
+    private final DisposableDomainRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Snapshot immuable, remplacé atomiquement à chaque mise à jour (lecture sans verrou)
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+    private volatile boolean loaded;
+    private volatile boolean degradedLookups;
+
+    // Correspondance exacte, sous-domaines (x.mailinator.com) et entrées "*.domaine"
+    public boolean isDisposable(String domain) {
+        if (!loaded) {
+            return isDisposableInDatabase(domain);
+        }
+        Snapshot current = snapshot;
+        return current.mightMatch(domain) && current.trie.matches(domain);
+    }
+
+    public int size() {
+        return snapshot.entries.length;
+    }
+
+    // Une entrée qui est un suffixe public (co.uk, *.github.io) couvrirait des domaines sans rapport : refusée
+    public static boolean isAcceptedEntry(String entry) {
+        return !PublicSuffixList.isPublicSuffix(Snapshot.stripWildcard(entry));
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        Snapshot previous = snapshot;
+        boolean wasLoaded = loaded;
+        load();
+
+        // Pas d'événement si la liste est identique, ni au premier chargement sauf après des réponses dégradées :
+        // l'invalidation se propage aux caches partagés de toutes les instances
+        if (wasLoaded ? !Arrays.equals(previous.entries, snapshot.entries) : degradedLookups) {
+            eventPublisher.publishEvent(new DisposableDomainsChangedEvent(snapshot.entries.length));
+        }
+    }
+
+    // Invalidation venue d'une autre instance (TieredCacheManager.sync) : sans événement, les caches partagés
+    // sont déjà invalidés. Avant le premier chargement, la lecture en base est déjà à jour
+    @Transactional(readOnly = true)
+    public synchronized void reloadFromPeer() {
+        if (loaded) {
+            load();
+        }
+    }
+
+    private void load() {
+        long startTime = System.currentTimeMillis();
+        snapshot = Snapshot.of(repository.findAllDomains());
+        loaded = true;
+
+        log.info("Disposable index loaded: {} domains in {}ms",
+                snapshot.entries.length, System.currentTimeMillis() - startTime);
+    }
+
+    // Mode dégradé avant le premier chargement (warmup) : domaine et domaines parents cherchés en base, une requête
+    private boolean isDisposableInDatabase(String domain) {
+        degradedLookups = true;
+        List<String> candidates = new ArrayList<>();
+        String candidate = domain;
+        do {
+            candidates.add(candidate);
+            candidates.add("*." + candidate);
+            candidate = candidate.substring(candidate.indexOf('.') + 1);
+        } while (!PublicSuffixList.isPublicSuffix(candidate));
+        try {
+            return repository.existsByDomainIn(candidates);
+        } catch (DataAccessException e) {
+            log.debug("Degraded disposable lookup failed for {}: {}", domain, e.getMessage());
+            return false;
+        }
+    }
+
+    // Copy-on-write : les ajouts manuels sont rares
+    public synchronized void add(String domain) {
+        Snapshot current = snapshot;
+        if (Arrays.binarySearch(current.entries, domain) >= 0) {
+            return;
+        }
+
+        String[] entries = Arrays.copyOf(current.entries, current.entries.length + 1);
+        entries[entries.length - 1] = domain;
+        snapshot = Snapshot.of(Arrays.asList(entries));
+
+        eventPublisher.publishEvent(new DisposableDomainsChangedEvent(entries.length));
+    }
+
+    private record Snapshot(String[] entries, DomainSuffixTrie trie, BloomFilter bloom) {
+
+        static Snapshot of(Collection<String> source) {
+            String[] entries = source.stream()
+                    .filter(DisposableDomainIndex::isAcceptedEntry)
+                    .map(String::intern)
+                    .sorted()
+                    .distinct()
+                    .toArray(String[]::new);
+
+            DomainSuffixTrie.Builder trie = DomainSuffixTrie.builder();
+            BloomFilter bloom = BloomFilter.create(entries.length, BLOOM_FALSE_POSITIVE_RATE);
+            for (String entry : entries) {
+                trie.add(entry);
+                bloom.put(stripWildcard(entry));
+            }
+            return new Snapshot(entries, trie.build(), bloom);
+        }
+
+        // Le Bloom filtre chaque suffixe sous la limite du TLD avant de parcourir le trie
+        boolean mightMatch(String domain) {
+            int dot = domain.lastIndexOf('.');
+            while (dot > 0) {
+                int start = domain.lastIndexOf('.', dot - 1) + 1;
+                if (bloom.mightContain(domain, start, domain.length())) {
+                    return true;
+                }
+                dot = start - 1;
+            }
+            return false;
+        }
+
+        private static String stripWildcard(String entry) {
+            return entry.startsWith("*.") ? entry.substring(2) : entry;
+        }
+    }
+}
@@ -1,61 +1,100 @@
 package com.validatorapi.service;
 
-import com.validatorapi.model.DisposableDomain;
 import com.validatorapi.repository.DisposableDomainRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Arrays;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
+// Synchronisation incrémentale : les listes des sources (DisposableFeedClient) sont comparées à la table,
+// et seuls les ajouts / suppressions / changements de source sont appliqués par lots JDBC dans une transaction courte.
+// La table n'est jamais vide pendant la mise à jour, les entrées MANUAL ne sont jamais modifiées.
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DisposableDomainService {
 
+    private static final String MANUAL_SOURCE = "MANUAL";
+
+    private static final String INSERT_SQL = "INSERT INTO disposable_domains (domain, added_at, source) VALUES (?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE disposable_domains SET source = ? WHERE domain = ? AND source = ?";
+    private static final String DELETE_SQL = "DELETE FROM disposable_domains WHERE domain = ? AND source = ?";
+
     private final DisposableDomainRepository repository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final DisposableDomainIndex disposableDomainIndex;
+    private final DisposableFeedClient feedClient;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
-    private static final String SOURCE_1 =
-            "https://raw.githubusercontent.com/disposable/disposable-email-domains/master/domains.txt";
-    private static final String SOURCE_2 =
-            "https://raw.githubusercontent.com/disposable-email-blocked-domains/disposable-email-blocked-domains/master/disposable-email-blocked-domains.conf";
+    private final int batchSize;
+    private final double maxDeleteRatio;
+
+    public DisposableDomainService(DisposableDomainRepository repository,
+                                   DisposableDomainIndex disposableDomainIndex,
+                                   DisposableFeedClient feedClient,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${validator.disposable.batch-size:1000}") int batchSize,
+                                   @Value("${validator.disposable.max-delete-ratio:0.5}") double maxDeleteRatio) {
+        this.repository = repository;
+        this.disposableDomainIndex = disposableDomainIndex;
+        this.feedClient = feedClient;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxDeleteRatio = maxDeleteRatio;
+    }
 
     @Scheduled(cron = "${validator.disposable.update-cron}")
-    @Transactional
     public void updateDisposableDomains() {
         log.info("Starting disposable domains update...");
+        long startTime = System.currentTimeMillis();
 
         try {
-            Set<String> allDomains = new HashSet<>();
-
-            // Fetch source 1
-            String content1 = restTemplate.getForObject(SOURCE_1, String.class);
-            if (content1 != null) {
-                allDomains.addAll(Arrays.stream(content1.split("\n"))
-                        .map(String::trim)
-                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
-                        .collect(Collectors.toSet()));
+            List<DisposableFeedClient.FeedResult> results = feedClient.fetchAll();
+            if (results.stream().noneMatch(r -> r.status() == DisposableFeedClient.Status.UPDATED)) {
+                log.info("No disposable feed changed, nothing to synchronize ({}ms)",
+                        System.currentTimeMillis() - startTime);
+                return;
             }
 
-            log.info("Fetched {} domains from source 1", allDomains.size());
-
-            // Suppression anciens et insertion nouveaux
-            repository.deleteAll();
-
-            Set<DisposableDomain> entities = allDomains.stream()
-                    .map(domain -> new DisposableDomain(domain, "GITHUB"))
-                    .collect(Collectors.toSet());
+            // Domaine -> première source (ordre de configuration) qui le liste
+            Map<String, String> desired = new HashMap<>();
+            Set<String> unknownSources = new HashSet<>();
+            for (DisposableFeedClient.FeedResult result : results) {
+                if (result.domains() == null) {
+                    unknownSources.add(result.source().name()); // Échec sans contenu connu : ses lignes sont conservées
+                    continue;
+                }
+                for (String domain : result.domains()) {
+                    desired.putIfAbsent(domain, result.source().name());
+                }
+            }
+            if (desired.isEmpty()) {
+                log.warn("Disposable feeds returned no domains, keeping current list");
+                return;
+            }
 
-            repository.saveAll(entities);
+            SyncResult result = synchronize(desired, unknownSources);
+            feedClient.commit(); // Après succès seulement : en cas d'échec, contenu redemandé au prochain passage
+            if (result.changed()) {
+                // Remplacement atomique de l'index en mémoire
+                disposableDomainIndex.reload();
+            }
 
-            log.info("✅ Successfully updated {} disposable domains", entities.size());
+            log.info("✅ Disposable domains synchronized: +{} -{} ~{} ({} unchanged) in {}ms",
+                    result.inserted(), result.deleted(), result.updated(), result.unchanged(),
+                    System.currentTimeMillis() - startTime);
 
         } catch (Exception e) {
             log.error("❌ Failed to update disposable domains", e);
@@ -63,11 +102,83 @@ public class DisposableDomainService {
     }
 
     // Méthode pour initialisation au démarrage
-    @Transactional
     public void initializeIfEmpty() {
         if (repository.count() == 0) {
             log.info("No disposable domains found, initializing...");
             updateDisposableDomains();
         }
     }
+
+    private record SyncResult(int inserted, int deleted, int updated, int unchanged) {
+
+        boolean changed() {
+            return inserted > 0 || deleted > 0 || updated > 0;
+        }
+    }
+
+    private record Row(String domain, String source) {
+    }
+
+    // Diff contre la table ; lignes MANUAL et lignes des sources injoignables laissées telles quelles
+    private SyncResult synchronize(Map<String, String> desired, Set<String> unknownSources) {
+        Map<String, String> current = new HashMap<>();
+        jdbcTemplate.query("SELECT domain, source FROM disposable_domains",
+                rs -> { current.put(rs.getString(1), rs.getString(2)); });
+
+        List<Row> toInsert = new ArrayList<>();
+        desired.forEach((domain, source) -> {
+            if (!current.containsKey(domain)) {
+                toInsert.add(new Row(domain, source));
+            }
+        });
+
+        List<Row> toDelete = new ArrayList<>();
+        List<Row> toUpdate = new ArrayList<>(); // source = ancienne source, nouvelle dans desired
+        int feedRows = 0;
+        for (Map.Entry<String, String> row : current.entrySet()) {
+            String source = row.getValue();
+            if (MANUAL_SOURCE.equals(source)) {
+                continue;
+            }
+            feedRows++;
+            String wanted = desired.get(row.getKey());
+            if (wanted == null) {
+                if (!unknownSources.contains(source)) {
+                    toDelete.add(new Row(row.getKey(), source));
+                }
+            } else if (!wanted.equals(source)) {
+                toUpdate.add(new Row(row.getKey(), source));
+            }
+        }
+
+        // Flux tronqué ou corrompu : on garde la liste plutôt que de la vider
+        if (feedRows > 0 && toDelete.size() > feedRows * maxDeleteRatio) {
+            throw new IllegalStateException("Refusing to delete " + toDelete.size() + " of " + feedRows
+                    + " feed domains (max ratio " + maxDeleteRatio + ")");
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(DELETE_SQL, toDelete, batchSize,
+                    (ps, row) -> {
+                        ps.setString(1, row.domain());
+                        ps.setString(2, row.source());
+                    });
+            jdbcTemplate.batchUpdate(UPDATE_SQL, toUpdate, batchSize,
+                    (ps, row) -> {
+                        ps.setString(1, desired.get(row.domain()));
+                        ps.setString(2, row.domain());
+                        ps.setString(3, row.source());
+                    });
+            jdbcTemplate.batchUpdate(INSERT_SQL, toInsert, batchSize,
+                    (ps, row) -> {
+                        ps.setString(1, row.domain());
+                        ps.setTimestamp(2, now);
+                        ps.setString(3, row.source());
+                    });
+        });
+
+        return new SyncResult(toInsert.size(), toDelete.size(), toUpdate.size(),
+                desired.size() - toInsert.size() - toUpdate.size());
+    }
 }
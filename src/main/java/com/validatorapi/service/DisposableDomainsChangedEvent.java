@@ -0,0 +1,5 @@
+package com.validatorapi.service;
+
+// Publié par DisposableDomainIndex à chaque rechargement ou ajout manuel
+public record DisposableDomainsChangedEvent(int size) {
+}
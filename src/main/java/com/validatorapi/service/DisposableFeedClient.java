@@ -0,0 +1,168 @@
+package com.validatorapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Téléchargement des listes de domaines jetables : sources HTTP(S) ou fichiers locaux (file:...),
+// récupérées en parallèle, requêtes conditionnelles (ETag / If-Modified-Since, date du fichier).
+// Le dernier contenu synchronisé par source est gardé en mémoire : une réponse 304 le réutilise.
+// Un contenu reçu reste en attente jusqu'à commit() : si la synchronisation échoue, le prochain passage le redemande.
+@Component
+@Slf4j
+public class DisposableFeedClient {
+
+    private static final int MAX_DOMAIN_LENGTH = 255; // Taille de la colonne
+
+    public record FeedSource(String name, String url) {
+    }
+
+    public enum Status {
+        UPDATED,       // Contenu reçu et parsé
+        NOT_MODIFIED,  // 304 ou fichier inchangé : dernier contenu connu
+        FAILED         // Erreur ; domains = dernier contenu connu, null si aucun
+    }
+
+    public record FeedResult(FeedSource source, Status status, Set<String> domains, long elapsedMs) {
+    }
+
+    private record Snapshot(String etag, String lastModified, long fileModified, Set<String> domains) {
+    }
+
+    private final List<FeedSource> sources;
+    private final RestTemplate restTemplate;
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> pending = new ConcurrentHashMap<>();
+
+    public DisposableFeedClient(Environment environment,
+                                @Value("${validator.disposable.fetch-timeout:30s}") Duration fetchTimeout) {
+        this.sources = Binder.get(environment)
+                .bind("validator.disposable.sources", Bindable.listOf(FeedSource.class))
+                .orElse(List.of());
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) fetchTimeout.toMillis());
+        requestFactory.setReadTimeout((int) fetchTimeout.toMillis());
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    public List<FeedSource> sources() {
+        return sources;
+    }
+
+    // Une source en échec n'interrompt pas les autres
+    public List<FeedResult> fetchAll() {
+        pending.clear();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<FeedResult>> futures = sources.stream()
+                    .map(source -> CompletableFuture.supplyAsync(() -> fetch(source), executor))
+                    .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+    }
+
+    private FeedResult fetch(FeedSource source) {
+        long startTime = System.currentTimeMillis();
+        Snapshot previous = snapshots.get(source.name());
+        try {
+            Snapshot next = source.url().startsWith("file:")
+                    ? fetchFile(source, previous)
+                    : fetchHttp(source, previous);
+
+            long elapsed = System.currentTimeMillis() - startTime;
+            if (next == previous) {
+                log.info("Disposable feed {} not modified ({}ms)", source.name(), elapsed);
+                return new FeedResult(source, Status.NOT_MODIFIED, previous.domains(), elapsed);
+            }
+            pending.put(source.name(), next);
+            log.info("Disposable feed {}: {} domains ({}ms)", source.name(), next.domains().size(), elapsed);
+            return new FeedResult(source, Status.UPDATED, next.domains(), elapsed);
+
+        } catch (Exception e) {
+            log.warn("Disposable feed {} failed: {}", source.name(), e.toString());
+            return new FeedResult(source, Status.FAILED, previous != null ? previous.domains() : null,
+                    System.currentTimeMillis() - startTime);
+        }
+    }
+
+    // À appeler une fois les résultats du dernier fetchAll() appliqués en base
+    public void commit() {
+        snapshots.putAll(pending);
+        pending.clear();
+    }
+
+    // Retourne previous tel quel si le serveur répond 304
+    private Snapshot fetchHttp(FeedSource source, Snapshot previous) {
+        return restTemplate.execute(URI.create(source.url()), HttpMethod.GET,
+                request -> {
+                    if (previous != null && previous.etag() != null) {
+                        request.getHeaders().setIfNoneMatch(previous.etag());
+                    }
+                    if (previous != null && previous.lastModified() != null) {
+                        request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, previous.lastModified());
+                    }
+                },
+                response -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && previous != null) {
+                        return previous;
+                    }
+                    HttpHeaders headers = response.getHeaders();
+                    return new Snapshot(headers.getETag(), headers.getFirst(HttpHeaders.LAST_MODIFIED), 0,
+                            parseDomains(response.getBody()));
+                });
+    }
+
+    private Snapshot fetchFile(FeedSource source, Snapshot previous) throws IOException {
+        Path path = Path.of(URI.create(source.url()));
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        if (previous != null && previous.fileModified() == modified) {
+            return previous;
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            return new Snapshot(null, null, modified, parseDomains(input));
+        }
+    }
+
+    // Lecture en flux, une ligne à la fois : "domaine", "domaine # commentaire" ; lignes "#..." ignorées
+    static Set<String> parseDomains(InputStream body) throws IOException {
+        Set<String> domains = new HashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int end = line.indexOf('#');
+                String domain = (end < 0 ? line : line.substring(0, end)).trim();
+                if (!domain.isEmpty() && domain.length() <= MAX_DOMAIN_LENGTH && domain.indexOf(' ') < 0) {
+                    domains.add(domain.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return domains;
+    }
+}
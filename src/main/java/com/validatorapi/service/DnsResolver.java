@@ -0,0 +1,7 @@
+package com.validatorapi.service;
+
+// Requête MX bloquante, sans cache : MxResolver s'occupe du cache, de l'exécuteur et de la limite de concurrence
+public interface DnsResolver {
+
+    MxLookupResult lookupMx(String domain);
+}
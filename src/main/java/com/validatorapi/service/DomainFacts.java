@@ -0,0 +1,12 @@
+package com.validatorapi.service;
+
+// Faits calculés une seule fois par domaine (MX, disposable, type de provider, typo)
+public record DomainFacts(
+        String domain,
+        MxLookupResult mx,
+        boolean disposable,
+        boolean freeProvider,
+        String providerType,
+        String suggestedDomain
+) {
+}
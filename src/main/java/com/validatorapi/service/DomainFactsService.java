@@ -0,0 +1,107 @@
+package com.validatorapi.service;
+
+import com.validatorapi.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Slf4j
+public class DomainFactsService {
+
+    private final MxResolver mxResolver;
+    private final DisposableDomainIndex disposableDomainIndex;
+    private final Cache domainFactsCache;
+    private final ValidationStageMetrics stageMetrics;
+
+    private static final Set<String> FREE_PROVIDERS = Set.of(
+            "gmail.com", "yahoo.com", "outlook.com", "hotmail.com",
+            "live.com", "aol.com", "icloud.com", "mail.com"
+    );
+
+    private static final Map<String, String> COMMON_TYPOS = Map.of(
+            "gmai.com", "gmail.com",
+            "gmial.com", "gmail.com",
+            "gmil.com", "gmail.com",
+            "yahooo.com", "yahoo.com",
+            "yaho.com", "yahoo.com",
+            "outlok.com", "outlook.com"
+    );
+
+    public DomainFactsService(MxResolver mxResolver,
+                              DisposableDomainIndex disposableDomainIndex,
+                              CacheManager cacheManager,
+                              ValidationStageMetrics stageMetrics) {
+        this.mxResolver = mxResolver;
+        this.disposableDomainIndex = disposableDomainIndex;
+        this.domainFactsCache = cacheManager.getCache(CacheConfig.DOMAIN_FACTS);
+        this.stageMetrics = stageMetrics;
+    }
+
+    public CompletableFuture<DomainFacts> resolveAsync(String domain) {
+        return domainFactsCache.retrieve(domain, () -> load(domain, false));
+    }
+
+    // Batch et streaming : résolution DNS sur la capacité réservée aux batchs
+    public CompletableFuture<DomainFacts> resolveForBatchAsync(String domain) {
+        return domainFactsCache.retrieve(domain, () -> load(domain, true));
+    }
+
+    public DomainFacts resolve(String domain) {
+        return resolveAsync(domain).join();
+    }
+
+    // Warmup en cours : statut jetable lu en base (correspondance exacte), voir DisposableDomainIndex
+    public boolean degraded() {
+        return !disposableDomainIndex.isLoaded();
+    }
+
+    // Le statut jetable est figé dans les faits en cache : on repart de zéro à chaque changement
+    @EventListener
+    public void onDisposableDomainsChanged(DisposableDomainsChangedEvent event) {
+        domainFactsCache.clear();
+        log.debug("Domain facts cache cleared after disposable update ({} domains)", event.size());
+    }
+
+    // Sur un défaut de cache uniquement : étapes mx_lookup et disposable_check du validateur email
+    private CompletableFuture<DomainFacts> load(String domain, boolean batch) {
+        long startTime = System.nanoTime();
+        return mxResolver.resolveAsync(domain, batch).thenApply(mx -> {
+            stageMetrics.record("email", "mx_lookup", mx.status().name().toLowerCase(Locale.ROOT),
+                    System.nanoTime() - startTime);
+            return toFacts(domain, mx);
+        });
+    }
+
+    private DomainFacts toFacts(String domain, MxLookupResult mx) {
+        boolean isFreeProvider = FREE_PROVIDERS.contains(domain);
+
+        long startTime = System.nanoTime();
+        boolean isDisposable = disposableDomainIndex.isDisposable(domain);
+        stageMetrics.record("email", "disposable_check", isDisposable ? "disposable" : "not_disposable",
+                System.nanoTime() - startTime);
+
+        return new DomainFacts(
+                domain,
+                mx,
+                isDisposable,
+                isFreeProvider,
+                determineProviderType(domain, isFreeProvider),
+                COMMON_TYPOS.get(domain)
+        );
+    }
+
+    private String determineProviderType(String domain, boolean isFreeProvider) {
+        if (isFreeProvider) return "FREE";
+        if (domain.endsWith(".edu")) return "EDUCATION";
+        if (domain.endsWith(".gov")) return "GOVERNMENT";
+        return "BUSINESS";
+    }
+}
@@ -0,0 +1,128 @@
+package com.validatorapi.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Trie de labels inversés (com -> mailinator -> ...) : une recherche coûte O(labels)
+final class DomainSuffixTrie {
+
+    private static final String[] NO_LABELS = new String[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Node root;
+
+    private DomainSuffixTrie(Node root) {
+        this.root = root;
+    }
+
+    // Vrai si le domaine est listé, ou sous-domaine d'une entrée listée
+    boolean matches(String domain) {
+        Node node = root;
+        int end = domain.length();
+
+        while (end > 0) {
+            int start = domain.lastIndexOf('.', end - 1) + 1;
+            node = node.child(domain, start, end);
+
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal || (node.wildcard && start > 0)) {
+                return true;
+            }
+            end = start - 1;
+        }
+        return false;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+
+        private final MutableNode root = new MutableNode();
+
+        // "*.domaine" ne couvre que les sous-domaines, "domaine" couvre les deux
+        Builder add(String entry) {
+            boolean wildcard = entry.startsWith("*.");
+            String domain = wildcard ? entry.substring(2) : entry;
+
+            MutableNode node = root;
+            int end = domain.length();
+            while (end > 0) {
+                int start = domain.lastIndexOf('.', end - 1) + 1;
+                String label = domain.substring(start, end).intern();
+                node = node.children.computeIfAbsent(label, l -> new MutableNode());
+                end = start - 1;
+            }
+
+            if (wildcard) {
+                node.wildcard = true;
+            } else {
+                node.terminal = true;
+            }
+            return this;
+        }
+
+        DomainSuffixTrie build() {
+            return new DomainSuffixTrie(root.freeze());
+        }
+    }
+
+    private static final class MutableNode {
+        private final Map<String, MutableNode> children = new HashMap<>();
+        private boolean terminal;
+        private boolean wildcard;
+
+        private Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_LABELS, NO_NODES, terminal, wildcard);
+            }
+
+            String[] labels = children.keySet().toArray(NO_LABELS);
+            Arrays.sort(labels);
+
+            Node[] nodes = new Node[labels.length];
+            for (int i = 0; i < labels.length; i++) {
+                nodes[i] = children.get(labels[i]).freeze();
+            }
+            return new Node(labels, nodes, terminal, wildcard);
+        }
+    }
+
+    // Noeud figé : labels triés + recherche dichotomique sans allocation
+    private record Node(String[] labels, Node[] children, boolean terminal, boolean wildcard) {
+
+        Node child(String domain, int start, int end) {
+            int low = 0;
+            int high = labels.length - 1;
+
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(labels[mid], domain, start, end);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return children[mid];
+                }
+            }
+            return null;
+        }
+
+        private static int compare(String label, String domain, int start, int end) {
+            int length = end - start;
+            int limit = Math.min(label.length(), length);
+            for (int i = 0; i < limit; i++) {
+                int diff = label.charAt(i) - domain.charAt(start + i);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return label.length() - length;
+        }
+    }
+}
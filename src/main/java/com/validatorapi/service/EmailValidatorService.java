@@ -1,35 +1,28 @@
 package com.validatorapi.service;
 
+import com.validatorapi.config.CacheKeys;
 import com.validatorapi.dto.EmailValidationResponse;
-import com.validatorapi.model.ValidationHistory;
-import com.validatorapi.repository.DisposableDomainRepository;
-import com.validatorapi.repository.ValidationHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.validator.routines.EmailValidator;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import javax.naming.NamingException;
-import javax.naming.directory.Attribute;
-import javax.naming.directory.InitialDirContext;
 import java.time.LocalDateTime;
-import java.util.*;
-import java.util.regex.Pattern;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailValidatorService {
 
-    private final DisposableDomainRepository disposableDomainRepository;
-    private final ValidationHistoryRepository validationHistoryRepository;
-
-    private static final Set<String> FREE_PROVIDERS = Set.of(
-            "gmail.com", "yahoo.com", "outlook.com", "hotmail.com",
-            "live.com", "aol.com", "icloud.com", "mail.com"
-    );
+    private final DomainFactsService domainFactsService;
+    private final ValidationHistoryWriter historyWriter;
+    private final CacheKeys cacheKeys;
+    private final ValidationStatsService validationStats;
+    private final ValidationStageMetrics stageMetrics;
 
     private static final Set<String> ROLE_ACCOUNTS = Set.of(
             "admin", "info", "support", "contact", "noreply",
@@ -37,134 +30,150 @@ public class EmailValidatorService {
             "marketing", "billing", "help", "service"
     );
 
-    private static final Map<String, String> COMMON_TYPOS = Map.of(
-            "gmai.com", "gmail.com",
-            "gmial.com", "gmail.com",
-            "gmil.com", "gmail.com",
-            "yahooo.com", "yahoo.com",
-            "yaho.com", "yahoo.com",
-            "outlok.com", "outlook.com"
-    );
+    // Instances partagées (thread-safe) : aucune allocation par validation
+    private static final RolePrefixTrie ROLE_PREFIXES = RolePrefixTrie.of(ROLE_ACCOUNTS);
+    private static final EmailValidator EMAIL_VALIDATOR = EmailValidator.getInstance(false);
 
-    @Cacheable(value = "emailValidation", key = "#email", unless = "#result.riskScore < 50")
+    // Limites RFC 5321 : rejet immédiat sans passer par les regex de commons-validator
+    private static final int MAX_EMAIL_LENGTH = 254;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+
+    @Cacheable(value = "emailValidation", key = "@cacheKeys.email(#email)", unless = "#result.riskScore < 50 || #result.degraded != null")
     public EmailValidationResponse validate(String email) {
-        long startTime = System.currentTimeMillis();
+        ValidationStageMetrics.Stopwatch stopwatch = stageMetrics.start("email");
 
-        email = email.trim().toLowerCase();
-
-        EmailValidationResponse.EmailValidationResponseBuilder builder =
-                EmailValidationResponse.builder()
-                        .email(email)
-                        .checkedAt(LocalDateTime.now());
+        email = normalize(email);
 
         // Étape 1 : Validation syntaxe
-        boolean syntaxValid = validateSyntax(email);
-        builder.syntaxValid(syntaxValid);
-
-        if (!syntaxValid) {
-            builder.valid(false)
-                    .riskScore(0)
-                    .validationTimeMs(System.currentTimeMillis() - startTime);
-            return builder.build();
+        String domain = extractDomain(email);
+        stopwatch.lap("syntax");
+        if (domain == null) {
+            return invalidSyntax(email, stopwatch);
         }
 
-        // Extraction domaine
-        String[] parts = email.split("@");
-        String localPart = parts[0];
-        String domain = parts[1];
+        // Étape 2 : Faits du domaine (MX, disposable, provider)
+        DomainFacts facts = domainFactsService.resolve(domain);
+        stopwatch.lap("domain_facts");
 
-        // Étape 2 : Vérification DNS/MX
-        MxCheckResult mxResult = checkMxRecords(domain);
-        builder.domainExists(mxResult.exists)
-                .mxHost(mxResult.mxHost)
-                .mxRecordsCount(mxResult.count);
+        return validate(email, facts, stopwatch);
+    }
 
-        // Étape 3 : Détection disposable
-        boolean isDisposable = disposableDomainRepository.existsByDomain(domain);
-        builder.isDisposable(isDisposable);
+    // Les réponses en cache portent is_disposable : invalidées avec la liste (toutes instances si L2)
+    @EventListener
+    @CacheEvict(value = "emailValidation", allEntries = true)
+    public void onDisposableDomainsChanged(DisposableDomainsChangedEvent event) {
+        log.debug("Email validation cache cleared after disposable update");
+    }
 
-        // Étape 4 : Détection role account
-        boolean isRoleAccount = isRoleAccount(localPart);
-        builder.isRoleAccount(isRoleAccount);
+    // Même forme que la clé de cache : minuscules, domaine en punycode
+    public String normalize(String email) {
+        return cacheKeys.email(email);
+    }
 
-        // Étape 5 : Détection provider type
-        boolean isFreeProvider = FREE_PROVIDERS.contains(domain);
-        builder.isFreeProvider(isFreeProvider);
+    // Domaine de l'adresse normalisée, ou null si la syntaxe est invalide
+    public String extractDomain(String email) {
+        int at = email.lastIndexOf('@');
+        if (!validateSyntax(email, at)) {
+            return null;
+        }
+        return email.substring(at + 1);
+    }
 
-        String providerType = determineProviderType(domain, isFreeProvider);
-        builder.providerType(providerType);
+    // startTime : System.nanoTime() au début de la validation
+    public EmailValidationResponse invalidSyntax(String email, long startTime) {
+        return invalidSyntax(email, stageMetrics.start("email", startTime));
+    }
 
-        // Étape 6 : Suggestion typo
-        String suggestion = suggestCorrection(email, domain);
-        builder.suggestion(suggestion);
+    // Contrôles propres à l'adresse, à partir des faits déjà résolus pour son domaine.
+    // Même cache que validate(email) : les batchs lisent et remplissent les entrées des appels unitaires
+    @Cacheable(value = "emailValidation", key = "@cacheKeys.email(#email)", unless = "#result.riskScore < 50 || #result.degraded != null")
+    public EmailValidationResponse validate(String email, DomainFacts facts, long startTime) {
+        return validate(email, facts, stageMetrics.start("email", startTime));
+    }
 
-        // Étape 7 : Calcul risk score
+    private EmailValidationResponse invalidSyntax(String email, ValidationStageMetrics.Stopwatch stopwatch) {
+        EmailValidationResponse response = EmailValidationResponse.builder()
+                .email(email)
+                .checkedAt(LocalDateTime.now())
+                .syntaxValid(false)
+                .valid(false)
+                .riskScore(0)
+                .validationTimeMs(stopwatch.elapsedMillis())
+                .build();
+        stopwatch.finish("invalid_syntax");
+        return response;
+    }
+
+    private EmailValidationResponse validate(String email, DomainFacts facts, ValidationStageMetrics.Stopwatch stopwatch) {
+        int at = email.lastIndexOf('@');
+        MxLookupResult mxResult = facts.mx();
+
+        EmailValidationResponse.EmailValidationResponseBuilder builder =
+                EmailValidationResponse.builder()
+                        .email(email)
+                        .checkedAt(LocalDateTime.now())
+                        .syntaxValid(true);
+
+        builder.domainExists(mxResult.exists())
+                .mxHost(mxResult.mxHost())
+                .mxRecordsCount(mxResult.count())
+                .isDisposable(facts.disposable())
+                .isFreeProvider(facts.freeProvider())
+                .providerType(facts.providerType());
+
+        // Réponse pendant le warmup : signalée, et jamais mise en cache
+        if (domainFactsService.degraded()) {
+            builder.degraded(true);
+        }
+
+        // Étape 3 : Détection role account
+        boolean isRoleAccount = ROLE_PREFIXES.matches(email, 0, at);
+        builder.isRoleAccount(isRoleAccount);
+
+        // Étape 4 : Suggestion typo
+        if (facts.suggestedDomain() != null) {
+            builder.suggestion(email.substring(0, at + 1).concat(facts.suggestedDomain()));
+        }
+
+        // Étape 5 : Calcul risk score
         int riskScore = calculateRiskScore(
-                syntaxValid, mxResult.exists, isDisposable,
-                isRoleAccount, providerType
+                true, mxResult.exists(), facts.disposable(),
+                isRoleAccount, facts.providerType()
         );
         builder.riskScore(riskScore);
 
         // Validation finale
-        boolean isValid = syntaxValid && mxResult.exists && !isDisposable;
+        boolean isValid = mxResult.exists() && !facts.disposable();
         builder.valid(isValid);
+        stopwatch.lap("scoring");
 
-        long validationTime = System.currentTimeMillis() - startTime;
+        long validationTime = stopwatch.elapsedMillis();
         builder.validationTimeMs(validationTime);
 
         // Sauvegarde asynchrone en BDD
-        saveHistory(email, isValid, riskScore, validationTime);
-
-        log.info("Email validated: {} - valid: {} - score: {} - time: {}ms",
-                email, isValid, riskScore, validationTime);
+        recordValidation(email, isValid, riskScore, validationTime);
+        stopwatch.lap("history");
+        stopwatch.finish(isValid ? "valid" : "invalid");
+
+        // Debug : une ligne formatée par validation pèse plus que la validation elle-même
+        if (log.isDebugEnabled()) {
+            log.debug("Email validated: {} - valid: {} - score: {} - time: {}ms",
+                    email, isValid, riskScore, validationTime);
+        }
 
         return builder.build();
     }
 
-    private boolean validateSyntax(String email) {
-        EmailValidator validator = EmailValidator.getInstance(false);
-        return validator.isValid(email);
-    }
-
-    private MxCheckResult checkMxRecords(String domain) {
-        try {
-            Attribute attr = new InitialDirContext()
-                    .getAttributes("dns:/" + domain, new String[]{"MX"})
-                    .get("MX");
-
-            if (attr == null || attr.size() == 0) {
-                return new MxCheckResult(false, null, 0);
-            }
-
-            String mxRecord = attr.get(0).toString();
-            String mxHost = mxRecord.split(" ")[1].replaceAll("\\.$", "");
-
-            return new MxCheckResult(true, mxHost, attr.size());
-
-        } catch (NamingException e) {
-            log.debug("MX lookup failed for domain: {}", domain);
-            return new MxCheckResult(false, null, 0);
+    // Sortie rapide sur la structure (longueurs, position du @) avant la validation complète
+    private boolean validateSyntax(String email, int at) {
+        int length = email.length();
+        if (length > MAX_EMAIL_LENGTH || at <= 0 || at > MAX_LOCAL_PART_LENGTH || at >= length - 3) {
+            return false;
         }
-    }
-
-    private boolean isRoleAccount(String localPart) {
-        String lower = localPart.toLowerCase();
-        return ROLE_ACCOUNTS.stream()
-                .anyMatch(role -> lower.equals(role) || lower.startsWith(role + "+"));
-    }
-
-    private String determineProviderType(String domain, boolean isFreeProvider) {
-        if (isFreeProvider) return "FREE";
-        if (domain.endsWith(".edu")) return "EDUCATION";
-        if (domain.endsWith(".gov")) return "GOVERNMENT";
-        return "BUSINESS";
-    }
-
-    private String suggestCorrection(String email, String domain) {
-        if (COMMON_TYPOS.containsKey(domain)) {
-            return email.replace(domain, COMMON_TYPOS.get(domain));
+        if (email.indexOf('.', at + 2) < 0 || email.charAt(length - 1) == '.') {
+            return false;
         }
-        return null;
+        return EMAIL_VALIDATOR.isValid(email);
     }
 
     private int calculateRiskScore(boolean syntaxValid, boolean domainExists,
@@ -182,17 +191,8 @@ public class EmailValidatorService {
         return Math.max(0, Math.min(100, score));
     }
 
-    @Async
-    protected void saveHistory(String email, boolean isValid, int riskScore, long validationTime) {
-        ValidationHistory history = new ValidationHistory();
-        history.setValidationType("EMAIL");
-        history.setInputValue(email);
-        history.setIsValid(isValid);
-        history.setRiskScore(riskScore);
-        history.setValidationTimeMs(validationTime);
-        validationHistoryRepository.save(history);
+    private void recordValidation(String email, boolean isValid, int riskScore, long validationTime) {
+        historyWriter.record("EMAIL", email, isValid, riskScore, validationTime);
+        validationStats.record(ValidationStatsService.Type.EMAIL, isValid, riskScore, validationTime);
     }
-
-    // Classe interne pour résultat MX
-    private record MxCheckResult(boolean exists, String mxHost, int count) {}
 }
@@ -0,0 +1,179 @@
+package com.validatorapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Partitionnement mensuel de validation_history (PostgreSQL uniquement) et rétention par DROP de partition
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HistoryPartitionManager {
+
+    private static final String TABLE = "validation_history";
+    private static final Pattern PARTITION_NAME =
+            Pattern.compile(TABLE + "_(before_)?y(\\d{4})m(\\d{2})");
+    // Verrou consultatif partagé par toutes les instances, libéré au commit / rollback
+    private static final String CONVERSION_LOCK = "SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "_partitioning'))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${validator.history.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${validator.history.partitioning.months-ahead:2}")
+    private int monthsAhead;
+
+    @Value("${validator.history.partitioning.retention-months:12}")
+    private int retentionMonths;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!isActive()) {
+            return;
+        }
+        if (!isPartitioned()) {
+            convertToPartitionedTable();
+        }
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${validator.history.partitioning.maintenance-cron:0 30 3 * * *}")
+    public void maintain() {
+        if (!isActive() || !isPartitioned()) {
+            return;
+        }
+        createUpcomingPartitions();
+        dropExpiredPartitions();
+    }
+
+    private boolean isActive() {
+        if (!enabled) {
+            return false;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    private boolean isPartitioned() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    // La table existante devient la partition des données antérieures au mois prochain (aucune copie).
+    // Plusieurs instances peuvent démarrer ensemble : verrou puis nouvelle vérification dans la transaction,
+    // la seconde trouve la table déjà partitionnée et ne fait rien
+    private void convertToPartitionedTable() {
+        YearMonth boundary = YearMonth.now().plusMonths(1);
+        String legacy = TABLE + "_before_" + suffix(boundary);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute(CONVERSION_LOCK);
+            if (isPartitioned()) {
+                log.info("{} already converted by another instance", TABLE);
+                return;
+            }
+
+            log.info("Converting {} to a partitioned table, existing rows kept in {}", TABLE, legacy);
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN ACCESS EXCLUSIVE MODE");
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + legacy);
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " ALTER COLUMN id DROP DEFAULT");
+            // La clé primaire (id, created_at) du parent sera reconstruite sur la partition
+            jdbcTemplate.execute("ALTER TABLE " + legacy + " DROP CONSTRAINT IF EXISTS " + TABLE + "_pkey");
+            for (String index : List.of("idx_history_created_at", "idx_history_type_created_at",
+                    "idx_history_api_key_created_at")) {
+                jdbcTemplate.execute("ALTER INDEX IF EXISTS " + index + " RENAME TO " + index + "_before");
+            }
+
+            jdbcTemplate.execute("CREATE TABLE " + TABLE + " ("
+                    + "id bigint NOT NULL, "
+                    + "validation_type varchar(20) NOT NULL, "
+                    + "input_value varchar(255) NOT NULL, "
+                    + "is_valid boolean NOT NULL, "
+                    + "risk_score integer, "
+                    + "validation_time_ms bigint, "
+                    + "created_at timestamp(6) NOT NULL, "
+                    + "api_key varchar(100), "
+                    + "PRIMARY KEY (id, created_at)"
+                    + ") PARTITION BY RANGE (created_at)");
+            createIndexes();
+
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + legacy
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + boundary.atDay(1) + "')");
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + TABLE + "_default PARTITION OF " + TABLE + " DEFAULT");
+            // Ids inchangés : la séquence est recalée par ValidationHistoryWriter avant son premier bloc
+        });
+    }
+
+    private void createIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_history_created_at ON " + TABLE + " (created_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_history_type_created_at ON " + TABLE
+                + " (validation_type, created_at)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_history_api_key_created_at ON " + TABLE
+                + " (api_key, created_at)");
+    }
+
+    private void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = TABLE + "_" + suffix(month);
+            try {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + TABLE
+                        + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            } catch (DataAccessException e) {
+                // Mois déjà couvert (ex : partition "before_" issue de la conversion)
+                log.debug("Partition {} not created: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private void dropExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ?",
+                String.class, TABLE);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+            YearMonth lastMonth = matcher.group(1) != null ? month.minusMonths(1) : month;
+
+            if (lastMonth.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("Dropped expired history partition {}", partition);
+            }
+        }
+    }
+
+    private static String suffix(YearMonth month) {
+        return String.format("y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
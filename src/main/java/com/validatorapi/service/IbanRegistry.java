@@ -0,0 +1,135 @@
+package com.validatorapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.iban4j.CountryCode;
+import org.iban4j.bban.BbanEntryType;
+import org.iban4j.bban.BbanStructure;
+import org.iban4j.bban.BbanStructureEntry;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Structures BBAN de tous les pays du registre iban4j, précalculées au démarrage :
+// offsets dans l'IBAN complet (banque, guichet, compte, clé nationale) + nom du pays en anglais.
+// Extraction = découpe à offsets fixes, sans switch ni regex ; la validation reste à IbanUtil.validate.
+@Component
+@Slf4j
+public class IbanRegistry {
+
+    private static final int BBAN_OFFSET = 4; // Pays (2) + clé IBAN (2)
+
+    private static final int BANK = 0;
+    private static final int BRANCH = 1;
+    private static final int ACCOUNT = 2;
+    private static final int NATIONAL_CHECK = 3;
+    private static final int PARTS = 4;
+
+    // Indexé par code pays : (lettre 1 - 'A') * 26 + (lettre 2 - 'A')
+    private final Layout[] layouts = new Layout[26 * 26];
+    private final int size;
+
+    public IbanRegistry() {
+        int count = 0;
+        for (CountryCode country : BbanStructure.supportedCountries()) {
+            int[] offsets = new int[PARTS * 2];
+            Arrays.fill(offsets, -1);
+
+            int position = BBAN_OFFSET;
+            for (BbanStructureEntry entry : BbanStructure.forCountry(country).getEntries()) {
+                int part = part(entry.getEntryType());
+                if (part >= 0 && offsets[part * 2] < 0) {
+                    offsets[part * 2] = position;
+                    offsets[part * 2 + 1] = position + entry.getLength();
+                }
+                position += entry.getLength();
+            }
+
+            String code = country.name();
+            layouts[index(code)] = new Layout(countryName(code), position, offsets);
+            count++;
+        }
+        this.size = count;
+        log.info("IBAN registry: {} countries", size);
+    }
+
+    // null si le pays n'est pas au registre
+    public Layout layout(String countryCode) {
+        int index = index(countryCode);
+        return index < 0 ? null : layouts[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int index(String countryCode) {
+        if (countryCode.length() != 2) {
+            return -1;
+        }
+        int first = countryCode.charAt(0) - 'A';
+        int second = countryCode.charAt(1) - 'A';
+        if (first < 0 || first >= 26 || second < 0 || second >= 26) {
+            return -1;
+        }
+        return first * 26 + second;
+    }
+
+    private static int part(BbanEntryType type) {
+        return switch (type) {
+            case bank_code -> BANK;
+            case branch_code -> BRANCH;
+            case account_number -> ACCOUNT;
+            case national_check_digit -> NATIONAL_CHECK;
+            default -> -1; // Type de compte, identifiant titulaire... non exposés
+        };
+    }
+
+    private static String countryName(String code) {
+        String name = Locale.of("", code).getDisplayCountry(Locale.ENGLISH);
+        return name.isEmpty() ? code : name;
+    }
+
+    // Immuable ; les méthodes attendent un IBAN déjà validé (longueur garantie)
+    public static final class Layout {
+
+        private final String countryName;
+        private final int length;
+        private final int[] offsets; // [début, fin[ par partie, -1 si absente
+
+        private Layout(String countryName, int length, int[] offsets) {
+            this.countryName = countryName;
+            this.length = length;
+            this.offsets = offsets;
+        }
+
+        public String countryName() {
+            return countryName;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public String bankCode(String iban) {
+            return slice(iban, BANK);
+        }
+
+        public String branchCode(String iban) {
+            return slice(iban, BRANCH);
+        }
+
+        public String accountNumber(String iban) {
+            return slice(iban, ACCOUNT);
+        }
+
+        public String nationalCheckDigits(String iban) {
+            return slice(iban, NATIONAL_CHECK);
+        }
+
+        private String slice(String iban, int part) {
+            int start = offsets[part * 2];
+            return start < 0 ? null : iban.substring(start, offsets[part * 2 + 1]);
+        }
+    }
+}
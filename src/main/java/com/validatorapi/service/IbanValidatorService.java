@@ -1,8 +1,7 @@
 package com.validatorapi.service;
 
+import com.validatorapi.config.CacheKeys;
 import com.validatorapi.dto.IbanValidationResponse;
-import com.validatorapi.model.ValidationHistory;
-import com.validatorapi.repository.ValidationHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.iban4j.IbanFormatException;
@@ -10,7 +9,6 @@ import org.iban4j.IbanUtil;
 import org.iban4j.InvalidCheckDigitException;
 import org.iban4j.UnsupportedCountryException;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -20,14 +18,18 @@ import java.time.LocalDateTime;
 @Slf4j
 public class IbanValidatorService {
 
-    private final ValidationHistoryRepository validationHistoryRepository;
+    private final ValidationHistoryWriter historyWriter;
+    private final ValidationStatsService validationStats;
+    private final CacheKeys cacheKeys;
+    private final ValidationStageMetrics stageMetrics;
+    private final IbanRegistry ibanRegistry;
 
-    @Cacheable(value = "ibanValidation", key = "#ibanInput")
+    @Cacheable(value = "ibanValidation", key = "@cacheKeys.iban(#ibanInput)")
     public IbanValidationResponse validate(String ibanInput) {
-        long startTime = System.currentTimeMillis();
+        ValidationStageMetrics.Stopwatch stopwatch = stageMetrics.start("iban");
 
         // Nettoyage
-        String iban = ibanInput.replaceAll("\\s+", "").toUpperCase();
+        String iban = cacheKeys.iban(ibanInput);
 
         IbanValidationResponse.IbanValidationResponseBuilder builder =
                 IbanValidationResponse.builder()
@@ -37,6 +39,7 @@ public class IbanValidatorService {
         try {
             // Validation avec iban4j
             IbanUtil.validate(iban);
+            stopwatch.lap("validate");
 
             builder.valid(true);
 
@@ -47,21 +50,32 @@ public class IbanValidatorService {
             builder.countryCode(countryCode)
                     .checkDigits(checkDigits);
 
-            // Extraction codes bancaires (dépend du pays)
-            extractBankInfo(iban, countryCode, builder);
+            // Extraction codes bancaires : offsets précalculés du pays (registre)
+            IbanRegistry.Layout layout = ibanRegistry.layout(countryCode);
+            if (layout != null) {
+                builder.bankCode(layout.bankCode(iban))
+                        .branchCode(layout.branchCode(iban))
+                        .accountNumber(layout.accountNumber(iban))
+                        .nationalCheckDigits(layout.nationalCheckDigits(iban));
+            } else {
+                builder.accountNumber(iban.substring(4));
+            }
+            stopwatch.lap("extract");
 
             // Formatage avec espaces
             String formatted = formatIban(iban);
             builder.ibanFormatted(formatted);
 
             // Nom du pays
-            String countryName = getCountryName(countryCode);
-            builder.country(countryName);
+            builder.country(layout != null ? layout.countryName() : countryCode);
+            stopwatch.lap("format");
 
-            long validationTime = System.currentTimeMillis() - startTime;
+            long validationTime = stopwatch.elapsedMillis();
             builder.validationTimeMs(validationTime);
 
-            saveHistory(iban, true, validationTime);
+            recordValidation(iban, true, validationTime);
+            stopwatch.lap("history");
+            stopwatch.finish("valid");
 
             log.info("IBAN validated: {} - valid: true - time: {}ms",
                     countryCode + "**" + iban.substring(iban.length() - 4), validationTime);
@@ -71,59 +85,19 @@ public class IbanValidatorService {
         } catch (IbanFormatException | InvalidCheckDigitException | UnsupportedCountryException e) {
             log.debug("IBAN validation failed for: {} - {}", iban, e.getMessage());
 
+            stopwatch.lap("validate");
+            long validationTime = stopwatch.elapsedMillis();
             builder.valid(false)
-                    .validationTimeMs(System.currentTimeMillis() - startTime);
+                    .validationTimeMs(validationTime);
 
-            saveHistory(iban, false, System.currentTimeMillis() - startTime);
+            recordValidation(iban, false, validationTime);
+            stopwatch.lap("history");
+            stopwatch.finish("invalid");
 
             return builder.build();
         }
     }
 
-    private void extractBankInfo(String iban, String countryCode,
-                                 IbanValidationResponse.IbanValidationResponseBuilder builder) {
-
-        // Format spécifique par pays (exemples)
-        switch (countryCode) {
-            case "FR": // France: FR76 3000 6000 0112 3456 7890 189
-                if (iban.length() >= 14) {
-                    builder.bankCode(iban.substring(4, 9))
-                            .branchCode(iban.substring(9, 14))
-                            .accountNumber(iban.substring(14));
-                }
-                break;
-
-            case "DE": // Allemagne: DE89 3704 0044 0532 0130 00
-                if (iban.length() >= 18) {
-                    builder.bankCode(iban.substring(4, 12))
-                            .accountNumber(iban.substring(12));
-                }
-                break;
-
-            case "GB": // UK: GB82 WEST 1234 5698 7654 32
-                if (iban.length() >= 18) {
-                    builder.bankCode(iban.substring(4, 8))
-                            .branchCode(iban.substring(8, 14))
-                            .accountNumber(iban.substring(14));
-                }
-                break;
-
-            case "ES": // Espagne: ES91 2100 0418 4502 0005 1332
-                if (iban.length() >= 14) {
-                    builder.bankCode(iban.substring(4, 8))
-                            .branchCode(iban.substring(8, 12))
-                            .accountNumber(iban.substring(12));
-                }
-                break;
-
-            default:
-                // Format générique
-                if (iban.length() > 10) {
-                    builder.accountNumber(iban.substring(4));
-                }
-        }
-    }
-
     private String formatIban(String iban) {
         StringBuilder formatted = new StringBuilder();
         for (int i = 0; i < iban.length(); i++) {
@@ -135,35 +109,15 @@ public class IbanValidatorService {
         return formatted.toString();
     }
 
-    private String getCountryName(String code) {
-        return switch (code) {
-            case "FR" -> "France";
-            case "DE" -> "Germany";
-            case "GB" -> "United Kingdom";
-            case "ES" -> "Spain";
-            case "IT" -> "Italy";
-            case "NL" -> "Netherlands";
-            case "BE" -> "Belgium";
-            case "CH" -> "Switzerland";
-            case "AT" -> "Austria";
-            case "PT" -> "Portugal";
-            case "IE" -> "Ireland";
-            case "PL" -> "Poland";
-            case "SE" -> "Sweden";
-            case "NO" -> "Norway";
-            case "DK" -> "Denmark";
-            case "FI" -> "Finland";
-            default -> code;
-        };
+    private void recordValidation(String iban, boolean isValid, long validationTime) {
+        historyWriter.record("IBAN", maskIban(iban), isValid, null, validationTime);
+        validationStats.record(ValidationStatsService.Type.IBAN, isValid, null, validationTime);
     }
 
-    @Async
-    protected void saveHistory(String iban, boolean isValid, long validationTime) {
-        ValidationHistory history = new ValidationHistory();
-        history.setValidationType("IBAN");
-        history.setInputValue(iban.substring(0, 4) + "****" + iban.substring(iban.length() - 4));
-        history.setIsValid(isValid);
-        history.setValidationTimeMs(validationTime);
-        validationHistoryRepository.save(history);
+    private String maskIban(String iban) {
+        if (iban.length() <= 8) {
+            return "****";
+        }
+        return iban.substring(0, 4) + "****" + iban.substring(iban.length() - 4);
     }
 }
@@ -0,0 +1,81 @@
+package com.validatorapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.naming.Context;
+import javax.naming.NameNotFoundException;
+import javax.naming.NamingException;
+import javax.naming.directory.Attribute;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.InitialDirContext;
+import java.util.Hashtable;
+
+// Résolveur de production : résolveur système via JNDI dns:/
+@Component
+@ConditionalOnProperty(name = "validator.dns.resolver", havingValue = "jndi", matchIfMissing = true)
+@Slf4j
+public class JndiDnsResolver implements DnsResolver {
+
+    private final Hashtable<String, String> jndiEnvironment = new Hashtable<>();
+
+    public JndiDnsResolver(@Value("${validator.dns.timeout-ms:2000}") int timeoutMs,
+                           @Value("${validator.dns.retries:1}") int retries) {
+        // Timeout initial doublé à chaque retry par le provider JNDI DNS
+        jndiEnvironment.put(Context.INITIAL_CONTEXT_FACTORY, "com.sun.jndi.dns.DnsContextFactory");
+        jndiEnvironment.put("com.sun.jndi.dns.timeout.initial", String.valueOf(timeoutMs));
+        jndiEnvironment.put("com.sun.jndi.dns.timeout.retries", String.valueOf(retries));
+    }
+
+    @Override
+    public MxLookupResult lookupMx(String domain) {
+        DirContext context = null;
+        try {
+            context = new InitialDirContext(jndiEnvironment);
+            Attribute attr = context
+                    .getAttributes("dns:/" + domain, new String[]{"MX"})
+                    .get("MX");
+
+            if (attr == null || attr.size() == 0) {
+                return MxLookupResult.of(MxLookupResult.Status.NO_RECORDS);
+            }
+
+            return MxLookupResult.found(mxHost(attr.get(0).toString()), attr.size());
+
+        } catch (NameNotFoundException e) {
+            log.debug("MX lookup NXDOMAIN for domain: {}", domain);
+            return MxLookupResult.of(MxLookupResult.Status.NXDOMAIN);
+        } catch (NamingException e) {
+            log.debug("MX lookup failed for domain: {} - {}", domain, e.getMessage());
+            return MxLookupResult.of(MxLookupResult.Status.FAILURE);
+        } finally {
+            closeQuietly(context);
+        }
+    }
+
+    // "10 mx.example.com." -> "mx.example.com", par index plutôt que split/regex
+    static String mxHost(String mxRecord) {
+        int start = mxRecord.indexOf(' ') + 1;
+        int end = mxRecord.length();
+        while (end > start && mxRecord.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end > start && mxRecord.charAt(end - 1) == '.') {
+            end--;
+        }
+        return mxRecord.substring(start, end);
+    }
+
+    private void closeQuietly(DirContext context) {
+        if (context == null) {
+            return;
+        }
+        try {
+            context.close();
+        } catch (NamingException e) {
+            log.debug("Failed to close DNS context: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.validatorapi.service;
+
+public record MxLookupResult(Status status, String mxHost, int count) {
+
+    public enum Status {
+        FOUND,      // au moins un enregistrement MX
+        NO_RECORDS, // domaine existant sans MX
+        NXDOMAIN,   // domaine inexistant
+        FAILURE     // timeout ou erreur serveur
+    }
+
+    public static MxLookupResult found(String mxHost, int count) {
+        return new MxLookupResult(Status.FOUND, mxHost, count);
+    }
+
+    public static MxLookupResult of(Status status) {
+        return new MxLookupResult(status, null, 0);
+    }
+
+    public boolean exists() {
+        return status == Status.FOUND;
+    }
+}
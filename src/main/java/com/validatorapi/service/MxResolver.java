@@ -0,0 +1,100 @@
+package com.validatorapi.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.validatorapi.config.ConcurrencyLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class MxResolver {
+
+    private final DnsResolver dnsResolver;
+    private final ExecutorService executor;
+    private final ExecutorService batchExecutor;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final AsyncCache<String, MxLookupResult> cache;
+
+    private final Duration positiveTtl;
+    private final Duration negativeTtl;
+    private final Duration failureTtl;
+
+    public MxResolver(DnsResolver dnsResolver,
+                      @Qualifier("dnsExecutor") ExecutorService executor,
+                      @Qualifier("batchDnsExecutor") ExecutorService batchExecutor,
+                      ConcurrencyLimiter concurrencyLimiter,
+                      @Value("${validator.dns.cache-size:50000}") long cacheSize,
+                      @Value("${validator.dns.positive-ttl:1h}") Duration positiveTtl,
+                      @Value("${validator.dns.negative-ttl:10m}") Duration negativeTtl,
+                      @Value("${validator.dns.failure-ttl:1m}") Duration failureTtl) {
+
+        this.positiveTtl = positiveTtl;
+        this.negativeTtl = negativeTtl;
+        this.failureTtl = failureTtl;
+
+        this.dnsResolver = dnsResolver;
+        this.executor = executor;
+        this.batchExecutor = batchExecutor;
+        this.concurrencyLimiter = concurrencyLimiter;
+
+        // Un seul future par domaine : les requêtes concurrentes partagent la même résolution
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new ResultExpiry())
+                .executor(executor)
+                .buildAsync();
+    }
+
+    public CompletableFuture<MxLookupResult> resolveAsync(String domain) {
+        return resolveAsync(domain, false);
+    }
+
+    // batch : pool et permis DNS réservés aux batchs ; le résultat en cache reste partagé
+    public CompletableFuture<MxLookupResult> resolveAsync(String domain, boolean batch) {
+        return cache.get(domain, (key, exec) -> batch
+                ? CompletableFuture.supplyAsync(() -> lookup(key, ConcurrencyLimiter.Resource.DNS_BATCH), batchExecutor)
+                : CompletableFuture.supplyAsync(() -> lookup(key, ConcurrencyLimiter.Resource.DNS), executor));
+    }
+
+    public MxLookupResult resolve(String domain) {
+        return resolveAsync(domain).join();
+    }
+
+    private MxLookupResult lookup(String domain, ConcurrencyLimiter.Resource resource) {
+        try {
+            return concurrencyLimiter.call(resource, () -> dnsResolver.lookupMx(domain));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return MxLookupResult.of(MxLookupResult.Status.FAILURE);
+        }
+    }
+
+    // JNDI n'expose pas le TTL des enregistrements : TTL configurés par type de résultat
+    private class ResultExpiry implements Expiry<String, MxLookupResult> {
+
+        @Override
+        public long expireAfterCreate(String key, MxLookupResult value, long currentTime) {
+            return switch (value.status()) {
+                case FOUND -> positiveTtl.toNanos();
+                case NO_RECORDS, NXDOMAIN -> negativeTtl.toNanos();
+                case FAILURE -> failureTtl.toNanos();
+            };
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, MxLookupResult value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, MxLookupResult value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -4,13 +4,11 @@ import com.google.i18n.phonenumbers.NumberParseException;
 import com.google.i18n.phonenumbers.PhoneNumberUtil;
 import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
 import com.google.i18n.phonenumbers.geocoding.PhoneNumberOfflineGeocoder;
+import com.validatorapi.config.CacheKeys;
 import com.validatorapi.dto.PhoneValidationResponse;
-import com.validatorapi.model.ValidationHistory;
-import com.validatorapi.repository.ValidationHistoryRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -21,18 +19,19 @@ import java.util.Locale;
 @Slf4j
 public class PhoneValidatorService {
 
-    private final ValidationHistoryRepository validationHistoryRepository;
+    private final ValidationHistoryWriter historyWriter;
+    private final ValidationStatsService validationStats;
+    private final CacheKeys cacheKeys;
+    private final ValidationStageMetrics stageMetrics;
     private final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
     private final PhoneNumberOfflineGeocoder geocoder = PhoneNumberOfflineGeocoder.getInstance();
 
-    @Cacheable(value = "phoneValidation", key = "#phoneInput + '_' + #defaultCountry")
+    @Cacheable(value = "phoneValidation", key = "@cacheKeys.phone(#phoneInput, #defaultCountry)")
     public PhoneValidationResponse validate(String phoneInput, String defaultCountry) {
-        long startTime = System.currentTimeMillis();
+        ValidationStageMetrics.Stopwatch stopwatch = stageMetrics.start("phone");
 
         phoneInput = phoneInput.trim();
-        if (defaultCountry == null || defaultCountry.isEmpty()) {
-            defaultCountry = "US"; // Défaut si non spécifié
-        }
+        defaultCountry = cacheKeys.defaultCountry(defaultCountry); // US si non spécifié
 
         PhoneValidationResponse.PhoneValidationResponseBuilder builder =
                 PhoneValidationResponse.builder()
@@ -41,18 +40,27 @@ public class PhoneValidatorService {
 
         try {
             // Parse le numéro
-            PhoneNumber number = phoneUtil.parse(phoneInput, defaultCountry.toUpperCase());
+            PhoneNumber number = phoneUtil.parse(phoneInput, defaultCountry);
+            stopwatch.lap("parse");
+
+            // Réponse partagée en cache par toutes les saisies du même numéro : on renvoie la forme E.164 de la clé
+            String e164Format = phoneUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.E164);
+            builder.phone(e164Format);
 
             // Validation rapide
             boolean isPossible = phoneUtil.isPossibleNumber(number);
             boolean isValid = phoneUtil.isValidNumber(number);
+            stopwatch.lap("is_valid");
 
             builder.valid(isValid);
 
             if (!isValid) {
+                long validationTime = stopwatch.elapsedMillis();
                 builder.riskScore(0)
-                        .validationTimeMs(System.currentTimeMillis() - startTime);
-                saveHistory(phoneInput, false, 0, System.currentTimeMillis() - startTime);
+                        .validationTimeMs(validationTime);
+                recordValidation(phoneInput, false, 0, validationTime);
+                stopwatch.lap("history");
+                stopwatch.finish("invalid");
                 return builder.build();
             }
 
@@ -66,7 +74,6 @@ public class PhoneValidatorService {
             // Formatage
             String nationalFormat = phoneUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.NATIONAL);
             String internationalFormat = phoneUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.INTERNATIONAL);
-            String e164Format = phoneUtil.format(number, PhoneNumberUtil.PhoneNumberFormat.E164);
 
             builder.nationalFormat(nationalFormat)
                     .internationalFormat(internationalFormat)
@@ -76,10 +83,12 @@ public class PhoneValidatorService {
             PhoneNumberUtil.PhoneNumberType numberType = phoneUtil.getNumberType(number);
             String type = mapPhoneNumberType(numberType);
             builder.type(type);
+            stopwatch.lap("format");
 
             // Nom du pays
             String countryName = geocoder.getDescriptionForNumber(number, Locale.ENGLISH);
             builder.country(countryName);
+            stopwatch.lap("geocode");
 
             // Timezone (approximatif basé sur pays)
             String timezone = getTimezoneForCountry(regionCode);
@@ -89,10 +98,12 @@ public class PhoneValidatorService {
             int riskScore = calculateRiskScore(numberType, isPossible);
             builder.riskScore(riskScore);
 
-            long validationTime = System.currentTimeMillis() - startTime;
+            long validationTime = stopwatch.elapsedMillis();
             builder.validationTimeMs(validationTime);
 
-            saveHistory(phoneInput, isValid, riskScore, validationTime);
+            recordValidation(phoneInput, isValid, riskScore, validationTime);
+            stopwatch.lap("history");
+            stopwatch.finish("valid");
 
             log.info("Phone validated: {} - valid: {} - type: {} - time: {}ms",
                     e164Format, isValid, type, validationTime);
@@ -102,11 +113,15 @@ public class PhoneValidatorService {
         } catch (NumberParseException e) {
             log.debug("Phone parsing failed for: {} - {}", phoneInput, e.getMessage());
 
+            stopwatch.lap("parse");
+            long validationTime = stopwatch.elapsedMillis();
             builder.valid(false)
                     .riskScore(0)
-                    .validationTimeMs(System.currentTimeMillis() - startTime);
+                    .validationTimeMs(validationTime);
 
-            saveHistory(phoneInput, false, 0, System.currentTimeMillis() - startTime);
+            recordValidation(phoneInput, false, 0, validationTime);
+            stopwatch.lap("history");
+            stopwatch.finish("unparseable");
 
             return builder.build();
         }
@@ -160,14 +175,8 @@ public class PhoneValidatorService {
         };
     }
 
-    @Async
-    protected void saveHistory(String phone, boolean isValid, int riskScore, long validationTime) {
-        ValidationHistory history = new ValidationHistory();
-        history.setValidationType("PHONE");
-        history.setInputValue(phone);
-        history.setIsValid(isValid);
-        history.setRiskScore(riskScore);
-        history.setValidationTimeMs(validationTime);
-        validationHistoryRepository.save(history);
+    private void recordValidation(String phone, boolean isValid, int riskScore, long validationTime) {
+        historyWriter.record("PHONE", phone, isValid, riskScore, validationTime);
+        validationStats.record(ValidationStatsService.Type.PHONE, isValid, riskScore, validationTime);
     }
 }
\ No newline at end of file
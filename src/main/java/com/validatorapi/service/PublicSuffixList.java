@@ -0,0 +1,72 @@
+package com.validatorapi.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Public Suffix List (https://publicsuffix.org) embarquée dans les ressources, sections ICANN et PRIVATE.
+// Mise à jour : remplacer src/main/resources/public_suffix_list.dat par https://publicsuffix.org/list/public_suffix_list.dat
+final class PublicSuffixList {
+
+    private static final String RESOURCE = "/public_suffix_list.dat";
+
+    private static final Set<String> RULES = new HashSet<>();       // "co.uk"
+    private static final Set<String> WILDCARDS = new HashSet<>();   // "*.ck" -> "ck"
+    private static final Set<String> EXCEPTIONS = new HashSet<>();  // "!www.ck" -> "www.ck"
+
+    static {
+        try (InputStream input = PublicSuffixList.class.getResourceAsStream(RESOURCE)) {
+            if (input == null) {
+                throw new IllegalStateException("Missing resource " + RESOURCE);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Une règle par ligne, jusqu'au premier espace ; commentaires "//"
+                int end = line.indexOf(' ');
+                String rule = (end < 0 ? line : line.substring(0, end)).trim();
+                if (rule.isEmpty() || rule.startsWith("//")) {
+                    continue;
+                }
+                if (rule.startsWith("!")) {
+                    add(EXCEPTIONS, rule.substring(1));
+                } else if (rule.startsWith("*.")) {
+                    add(WILDCARDS, rule.substring(2));
+                } else {
+                    add(RULES, rule);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private PublicSuffixList() {
+    }
+
+    // Vrai si le domaine entier est un suffixe public (co.uk, github.io, x.ck) ; tout TLD l'est (règle "*")
+    static boolean isPublicSuffix(String domain) {
+        if (EXCEPTIONS.contains(domain)) {
+            return false;
+        }
+        int dot = domain.indexOf('.');
+        return dot < 0 || RULES.contains(domain) || WILDCARDS.contains(domain.substring(dot + 1));
+    }
+
+    // Règles IDN gardées sous les deux formes : Unicode et ASCII (punycode, forme des listes jetables)
+    private static void add(Set<String> target, String rule) {
+        target.add(rule.toLowerCase(Locale.ROOT));
+        try {
+            target.add(IDN.toASCII(rule).toLowerCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            // Forme punycode invalide : seule la forme Unicode est gardée
+        }
+    }
+}
@@ -1,24 +1,213 @@
 package com.validatorapi.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.validatorapi.model.Plan;
+import com.validatorapi.model.ValidationStatsRollup;
+import com.validatorapi.repository.ValidationStatsRollupRepository;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
 import io.github.bucket4j.Refill;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+// Limites par client : bucket par minute (bucket4j, sans verrou) + quota mensuel (CAS sur un compteur).
+// Buckets dans un cache Caffeine borné et expirant ; aucun accès BDD sur le chemin de la requête.
+// Quotas mensuels des clés configurées checkpointés dans validation_stats_rollup (QUOTA.<mois>.<empreinte>) :
+// ils survivent à l'éviction, aux redémarrages, et cumulent les instances au checkpoint près.
+// Quotas anonymes (par IP) dans leur propre cache, gardés jusqu'à la fin du mois indépendamment du bucket ;
+// locaux à l'instance et perdus au redémarrage ou au-delà de max-anonymous-quotas adresses.
 @Service
 @Slf4j
 public class RateLimitService {
 
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+    private static final String QUOTA_PREFIX = "QUOTA.";
 
-    public Bucket resolveBucket(String apiKey, Plan plan) {
-        return cache.computeIfAbsent(apiKey, k -> createBucket(plan));
+    private final ValidationStatsRollupRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Plan anonymousPlan;
+
+    private final Map<String, Client> apiKeys = new HashMap<>();              // Fixe après construction
+    private final Map<String, MonthlyQuota> keyQuotas = new HashMap<>();      // Par empreinte de clé configurée
+    private final Cache<String, ClientLimits> clients;
+    private final Cache<String, MonthlyQuota> anonymousQuotas;
+
+    private volatile Month month = Month.of(System.currentTimeMillis());
+
+    public RateLimitService(ValidationStatsRollupRepository repository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${validator.rate-limit.api-keys:}") String apiKeys,
+                            @Value("${validator.rate-limit.anonymous-plan:FREE}") Plan anonymousPlan,
+                            @Value("${validator.rate-limit.max-clients:100000}") long maxClients,
+                            @Value("${validator.rate-limit.idle-expiry:1h}") Duration idleExpiry,
+                            @Value("${validator.rate-limit.max-anonymous-quotas:100000}") long maxAnonymousQuotas) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.anonymousPlan = anonymousPlan;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        this.anonymousQuotas = Caffeine.newBuilder()
+                .maximumSize(maxAnonymousQuotas)
+                .expireAfter(new UntilMonthEnd())
+                .build();
+
+        // "clé:PLAN,clé2:PLAN"
+        for (String entry : apiKeys.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String key = entry.substring(0, colon).trim();
+            Plan plan = Plan.valueOf(entry.substring(colon + 1).trim().toUpperCase(Locale.ROOT));
+            String id = fingerprint(key);
+            this.apiKeys.put(key, new Client(id, plan, true));
+            this.keyQuotas.put(id, new MonthlyQuota());
+        }
+        log.info("Rate limiting: {} API keys configured, anonymous plan {}", this.apiKeys.size(), anonymousPlan);
+    }
+
+    public record Client(String id, Plan plan, boolean apiKey) {
+    }
+
+    // remaining / resetSeconds : bucket par minute ; retryAfterSeconds renseigné si refusé
+    public record Decision(boolean allowed, Plan plan, long remaining, long resetSeconds,
+                           long monthlyRemaining, long retryAfterSeconds, String reason) {
+    }
+
+    // Clé inconnue : traitée comme un appel anonyme (par IP), une clé inventée ne donne pas de nouveau bucket
+    public Client resolveClient(String apiKey, String remoteAddress) {
+        if (apiKey != null) {
+            Client client = apiKeys.get(apiKey);
+            if (client != null) {
+                return client;
+            }
+        }
+        return new Client("ip:" + remoteAddress, anonymousPlan, false);
+    }
+
+    public Decision tryConsume(Client client, int tokens) {
+        Plan plan = client.plan();
+        ClientLimits limits = clients.get(client.id(), id -> new ClientLimits(createBucket(plan),
+                client.apiKey() ? keyQuotas.get(id) : anonymousQuotas.get(id, ip -> new MonthlyQuota())));
+
+        Month current = currentMonth();
+        Usage usage = limits.quota.current(current.key);
+
+        // Jamais satisfiable : refus immédiat plutôt qu'un Retry-After trompeur
+        if (tokens > plan.getRequestsPerMinute()) {
+            return new Decision(false, plan, limits.bucket.getAvailableTokens(), 60, usage.remaining(plan), 0,
+                    "Request of " + tokens + " items exceeds the " + plan + " plan limit of "
+                            + plan.getRequestsPerMinute() + " per minute");
+        }
+        if (!usage.tryAcquire(tokens, plan.getRequestsPerMonth())) {
+            long untilNextMonth = TimeUnit.MILLISECONDS.toSeconds(current.endMillis - System.currentTimeMillis()) + 1;
+            return new Decision(false, plan, limits.bucket.getAvailableTokens(), 60, usage.remaining(plan),
+                    untilNextMonth, "Monthly quota of " + plan.getRequestsPerMonth() + " requests exhausted");
+        }
+
+        ConsumptionProbe probe = limits.bucket.tryConsumeAndReturnRemaining(tokens);
+        long resetSeconds = seconds(probe.getNanosToWaitForReset());
+        if (!probe.isConsumed()) {
+            usage.release(tokens);
+            log.debug("Rate limit exceeded for client {}", client.id());
+            return new Decision(false, plan, probe.getRemainingTokens(), resetSeconds, usage.remaining(plan),
+                    seconds(probe.getNanosToWaitForRefill()),
+                    "Rate limit of " + plan.getRequestsPerMinute() + " requests per minute exceeded");
+        }
+        return new Decision(true, plan, probe.getRemainingTokens(), resetSeconds, usage.remaining(plan), 0, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBaseline() {
+        try {
+            refreshBaseline(currentMonth());
+        } catch (RuntimeException e) {
+            log.warn("Could not load monthly quota usage: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${validator.rate-limit.checkpoint-interval-ms:30000}")
+    public synchronized void checkpoint() {
+        if (keyQuotas.isEmpty()) {
+            return;
+        }
+        Month current = currentMonth();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> deltas = new HashMap<>();
+
+        keyQuotas.forEach((id, quota) -> {
+            Usage usage = quota.current(current.key);
+            long delta = usage.used.get() - usage.checkpointed;
+            if (delta > 0) {
+                deltas.put(id, delta);
+            }
+        });
+
+        try {
+            if (!deltas.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> deltas.forEach((id, delta) -> {
+                    String metric = current.metricPrefix + id;
+                    if (repository.increment(metric, delta, now) == 0) {
+                        repository.save(new ValidationStatsRollup(metric, delta));
+                    }
+                }));
+                deltas.forEach((id, delta) -> keyQuotas.get(id).current(current.key).checkpointed += delta);
+            }
+            refreshBaseline(current);
+        } catch (RuntimeException e) {
+            log.warn("Quota checkpoint failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    // Consommation des autres instances = total en base - part locale déjà écrite
+    private synchronized void refreshBaseline(Month current) {
+        for (ValidationStatsRollup row : repository.findByMetricStartingWith(current.metricPrefix)) {
+            MonthlyQuota quota = keyQuotas.get(row.getMetric().substring(current.metricPrefix.length()));
+            if (quota != null) {
+                Usage usage = quota.current(current.key);
+                usage.others = Math.max(0, row.getValue() - usage.checkpointed);
+            }
+        }
+    }
+
+    private Month currentMonth() {
+        Month current = month;
+        if (System.currentTimeMillis() >= current.endMillis) {
+            current = Month.of(System.currentTimeMillis());
+            month = current;
+        }
+        return current;
     }
 
     private Bucket createBucket(Plan plan) {
@@ -32,14 +221,95 @@ public class RateLimitService {
                 .build();
     }
 
-    public boolean tryConsume(String apiKey, Plan plan) {
-        Bucket bucket = resolveBucket(apiKey, plan);
-        boolean consumed = bucket.tryConsume(1);
+    private static long seconds(long nanos) {
+        return (nanos + 999_999_999L) / 1_000_000_000L;
+    }
+
+    // La clé ne quitte pas la mémoire : logs et base ne voient que son empreinte
+    private static String fingerprint(String apiKey) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return "key:" + HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ClientLimits(Bucket bucket, MonthlyQuota quota) {
+    }
+
+    // Quota anonyme libéré au changement de mois (UTC), pas à l'inactivité
+    private static final class UntilMonthEnd implements Expiry<String, MonthlyQuota> {
+
+        @Override
+        public long expireAfterCreate(String key, MonthlyQuota value, long currentTime) {
+            long millis = Month.of(System.currentTimeMillis()).endMillis - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(1, millis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, MonthlyQuota value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, MonthlyQuota value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private record Month(int key, long endMillis, String metricPrefix) {
 
-        if (!consumed) {
-            log.warn("Rate limit exceeded for API key: {}", apiKey);
+        static Month of(long epochMillis) {
+            YearMonth month = YearMonth.from(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+            long end = month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+            return new Month(month.getYear() * 100 + month.getMonthValue(), end, QUOTA_PREFIX + month + ".");
         }
+    }
+
+    private static final class MonthlyQuota {
+
+        private final AtomicReference<Usage> usage = new AtomicReference<>(new Usage(0));
+
+        // Nouveau compteur au changement de mois
+        Usage current(int month) {
+            Usage current = usage.get();
+            if (current.month != month) {
+                usage.compareAndSet(current, new Usage(month));
+                current = usage.get();
+            }
+            return current;
+        }
+    }
+
+    private static final class Usage {
 
-        return consumed;
+        private final int month;
+        private final AtomicLong used = new AtomicLong();
+        private volatile long others;  // Autres instances, au dernier checkpoint
+        private long checkpointed;     // Sous le verrou de checkpoint()
+
+        private Usage(int month) {
+            this.month = month;
+        }
+
+        boolean tryAcquire(int tokens, long limit) {
+            long current;
+            do {
+                current = used.get();
+                if (others + current + tokens > limit) {
+                    return false;
+                }
+            } while (!used.compareAndSet(current, current + tokens));
+            return true;
+        }
+
+        void release(int tokens) {
+            used.addAndGet(-tokens);
+        }
+
+        long remaining(Plan plan) {
+            return Math.max(0, plan.getRequestsPerMonth() - others - used.get());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.validatorapi.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+// Trie de caractères des comptes génériques (admin, support...) : "admin" et "admin+tag" correspondent,
+// "administrateur" non. Parcours sur la chaîne d'origine, sans sous-chaîne ni concaténation.
+final class RolePrefixTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    private final Node root;
+
+    private RolePrefixTrie(Node root) {
+        this.root = root;
+    }
+
+    static RolePrefixTrie of(Collection<String> roles) {
+        Node root = new Node();
+        for (String role : roles) {
+            Node node = root;
+            for (int i = 0; i < role.length(); i++) {
+                node = node.getOrAdd(role.charAt(i));
+            }
+            node.terminal = true;
+        }
+        return new RolePrefixTrie(root);
+    }
+
+    // Vrai si value[from, to) est un rôle, éventuellement suivi d'un sous-adressage "+tag"
+    boolean matches(CharSequence value, int from, int to) {
+        Node node = root;
+        for (int i = from; i < to; i++) {
+            char c = Character.toLowerCase(value.charAt(i));
+            if (c == '+' && node.terminal) {
+                return true;
+            }
+            node = node.child(c);
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.terminal;
+    }
+
+    private static final class Node {
+        private char[] chars = NO_CHARS;
+        private Node[] children = NO_NODES;
+        private boolean terminal;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrAdd(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            int insertAt = -index - 1;
+            char[] newChars = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(chars, insertAt, newChars, insertAt + 1, chars.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+
+            Node node = new Node();
+            newChars[insertAt] = c;
+            newChildren[insertAt] = node;
+            chars = newChars;
+            children = newChildren;
+            return node;
+        }
+    }
+}
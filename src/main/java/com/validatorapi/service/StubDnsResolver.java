@@ -0,0 +1,124 @@
+package com.validatorapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Serveur DNS autoritaire simulé, en mémoire, pour les tests de charge et de perf (profil loadtest).
+// Zones, latences et taux d'échec configurables sous validator.dns.stub.*. Les domaines lents sont
+// choisis par hash (toujours les mêmes pour une graine donnée) : "10% des domaines lents de 2s"
+// reste reproductible d'un run à l'autre, les échecs sont tirés à chaque requête.
+@Component
+@ConditionalOnProperty(name = "validator.dns.resolver", havingValue = "stub")
+@Slf4j
+public class StubDnsResolver implements DnsResolver {
+
+    private final Map<String, String> zones;
+    private final MxLookupResult.Status defaultStatus;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double slowFraction;
+    private final long slowLatencyMs;
+    private final double failureRate;
+    private final long seed;
+
+    // Au-delà, le résolveur JNDI aurait abandonné : timeout initial doublé à chaque retry
+    private final long timeoutMs;
+
+    public StubDnsResolver(Environment environment,
+                           @Value("${validator.dns.stub.default-status:FOUND}") MxLookupResult.Status defaultStatus,
+                           @Value("${validator.dns.stub.latency:5ms}") Duration latency,
+                           @Value("${validator.dns.stub.jitter:0ms}") Duration jitter,
+                           @Value("${validator.dns.stub.slow-fraction:0}") double slowFraction,
+                           @Value("${validator.dns.stub.slow-latency:2s}") Duration slowLatency,
+                           @Value("${validator.dns.stub.failure-rate:0}") double failureRate,
+                           @Value("${validator.dns.stub.seed:42}") long seed,
+                           @Value("${validator.dns.timeout-ms:2000}") long timeoutMs,
+                           @Value("${validator.dns.retries:1}") int retries) {
+        this.zones = Binder.get(environment)
+                .bind("validator.dns.stub.zones", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        this.defaultStatus = defaultStatus;
+        this.latencyMs = latency.toMillis();
+        this.jitterMs = jitter.toMillis();
+        this.slowFraction = slowFraction;
+        this.slowLatencyMs = slowLatency.toMillis();
+        this.failureRate = failureRate;
+        this.seed = seed;
+        this.timeoutMs = timeoutMs * ((1L << (retries + 1)) - 1);
+
+        log.warn("DNS stub resolver active: {} zones, latency {}ms, {}% slow domains ({}ms), failure rate {}%",
+                zones.size(), latencyMs, slowFraction * 100, slowLatencyMs, failureRate * 100);
+    }
+
+    @Override
+    public MxLookupResult lookupMx(String domain) {
+        long delay = latencyFor(domain);
+        if (delay >= timeoutMs) {
+            sleep(timeoutMs);
+            return MxLookupResult.of(MxLookupResult.Status.FAILURE);
+        }
+        sleep(delay);
+
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return MxLookupResult.of(MxLookupResult.Status.FAILURE);
+        }
+        return answer(domain);
+    }
+
+    // Valeur de zone : un statut (NXDOMAIN, NO_RECORDS, FAILURE, FOUND) ou directement l'hôte MX
+    private MxLookupResult answer(String domain) {
+        String zone = zones.get(domain);
+        if (zone == null) {
+            return defaultStatus == MxLookupResult.Status.FOUND
+                    ? MxLookupResult.found("mx1." + domain, 2)
+                    : MxLookupResult.of(defaultStatus);
+        }
+        try {
+            MxLookupResult.Status status = MxLookupResult.Status.valueOf(zone.toUpperCase(Locale.ROOT));
+            return status == MxLookupResult.Status.FOUND
+                    ? MxLookupResult.found("mx1." + domain, 2)
+                    : MxLookupResult.of(status);
+        } catch (IllegalArgumentException e) {
+            return MxLookupResult.found(zone, 1);
+        }
+    }
+
+    private long latencyFor(String domain) {
+        long hash = mix(domain.hashCode() ^ seed);
+        // 53 bits de poids fort -> [0, 1)
+        double bucket = (hash >>> 11) * 0x1.0p-53;
+        long delay = bucket < slowFraction ? slowLatencyMs : latencyMs;
+        if (jitterMs > 0) {
+            delay += ThreadLocalRandom.current().nextLong(jitterMs + 1);
+        }
+        return delay;
+    }
+
+    // Finaliseur de SplitMix64 : répartit uniformément des hashCode proches
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.validatorapi.service;
+
+import com.validatorapi.config.ConcurrencyLimiter;
+import com.validatorapi.model.ValidationHistory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Historique en write-behind : file bornée sans verrou, vidée par lots hors du chemin de la requête
+@Service
+@Slf4j
+public class ValidationHistoryWriter {
+
+    public enum OverflowPolicy { DROP_NEWEST, DROP_OLDEST }
+
+    private static final String INSERT_PREFIX = "INSERT INTO validation_history "
+            + "(id, validation_type, input_value, is_valid, risk_score, validation_time_ms, created_at, api_key) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int COLUMNS = 8;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ExecutorService historyExecutor;
+
+    private final Queue<ValidationHistory> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(); // Un seul flush par taille en attente
+
+    // Ids alloués par blocs, même sémantique pooled-lo qu'Hibernate (accès sous flushLock)
+    private final String nextSequenceValueSql;
+    private long nextId;
+    private long maxId = -1;
+    private boolean sequenceChecked;
+
+    private final int capacity;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public ValidationHistoryWriter(JdbcTemplate jdbcTemplate,
+                                   ConcurrencyLimiter concurrencyLimiter,
+                                   @Qualifier("historyExecutor") ExecutorService historyExecutor,
+                                   MeterRegistry meterRegistry,
+                                   EntityManagerFactory entityManagerFactory,
+                                   @Value("${validator.history.queue-capacity:50000}") int capacity,
+                                   @Value("${validator.history.batch-size:500}") int batchSize,
+                                   @Value("${validator.history.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.historyExecutor = historyExecutor;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.nextSequenceValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect().getSequenceSupport()
+                .getSequenceNextValString(ValidationHistory.SEQUENCE_NAME);
+
+        meterRegistry.gauge("validator.history.queue.size", queueSize);
+        this.written = meterRegistry.counter("validator.history.records", "result", "written");
+        this.dropped = meterRegistry.counter("validator.history.records", "result", "dropped");
+        this.failed = meterRegistry.counter("validator.history.records", "result", "failed");
+    }
+
+    public void record(String validationType, String inputValue, boolean isValid,
+                       Integer riskScore, long validationTimeMs) {
+        ValidationHistory history = new ValidationHistory();
+        history.setValidationType(validationType);
+        history.setInputValue(inputValue);
+        history.setIsValid(isValid);
+        history.setRiskScore(riskScore);
+        history.setValidationTimeMs(validationTimeMs);
+        enqueue(history);
+    }
+
+    private void enqueue(ValidationHistory history) {
+        if (queueSize.incrementAndGet() > capacity) {
+            if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                queueSize.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            if (queue.poll() != null) {
+                queueSize.decrementAndGet();
+                dropped.increment();
+            }
+        }
+
+        queue.offer(history);
+
+        // Déclenchement par taille, en plus du déclenchement périodique ; le flag est rendu par flush(),
+        // y compris le flush périodique si la tâche soumise a été écartée par le pool
+        if (queueSize.get() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            historyExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${validator.history.flush-interval-ms:1000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Les ajouts pendant la boucle sont vidés par elle : pas de nouvelle soumission avant la fin
+    private void drainAll() {
+        try {
+            List<ValidationHistory> chunk = new ArrayList<>(batchSize);
+            while (drain(chunk) > 0) {
+                insert(chunk);
+                chunk.clear();
+            }
+        } finally {
+            flushScheduled.set(false);
+        }
+    }
+
+    private int drain(List<ValidationHistory> chunk) {
+        ValidationHistory history;
+        while (chunk.size() < batchSize && (history = queue.poll()) != null) {
+            queueSize.decrementAndGet();
+            chunk.add(history);
+        }
+        return chunk.size();
+    }
+
+    // Un seul INSERT multi-lignes par lot
+    private void insert(List<ValidationHistory> chunk) {
+        try {
+            concurrencyLimiter.run(ConcurrencyLimiter.Resource.DB, () -> {
+                StringBuilder sql = new StringBuilder(
+                        INSERT_PREFIX.length() + chunk.size() * (ROW_PLACEHOLDERS.length() + 2))
+                        .append(INSERT_PREFIX);
+                Object[] params = new Object[chunk.size() * COLUMNS];
+
+                int p = 0;
+                for (int i = 0; i < chunk.size(); i++) {
+                    ValidationHistory history = chunk.get(i);
+                    sql.append(i == 0 ? "" : ", ").append(ROW_PLACEHOLDERS);
+                    params[p++] = nextId();
+                    params[p++] = history.getValidationType();
+                    params[p++] = history.getInputValue();
+                    params[p++] = history.getIsValid();
+                    params[p++] = history.getRiskScore();
+                    params[p++] = history.getValidationTimeMs();
+                    params[p++] = Timestamp.valueOf(history.getCreatedAt());
+                    params[p++] = history.getApiKey();
+                }
+
+                jdbcTemplate.update(sql.toString(), params);
+            });
+            written.increment(chunk.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failed.increment(chunk.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} history records", chunk.size(), e);
+            failed.increment(chunk.size());
+        }
+    }
+
+    private long nextId() {
+        if (nextId > maxId) {
+            long value = jdbcTemplate.queryForObject(nextSequenceValueSql, Long.class);
+            if (!sequenceChecked) {
+                value = skipExistingIds(value);
+                sequenceChecked = true;
+            }
+            nextId = value;
+            maxId = value + ValidationHistory.ID_ALLOCATION_SIZE - 1;
+        }
+        return nextId++;
+    }
+
+    // Avant le premier bloc, quel que soit le SGBD ou le partitionnement : une table antérieure à la séquence
+    // (ids IDENTITY, ddl-auto: update) ferait échouer chaque INSERT sur la clé primaire. La séquence repart
+    // après le plus grand id existant ; ALTER SEQUENCE ... RESTART est accepté par PostgreSQL et H2
+    private long skipExistingIds(long value) {
+        Long existing = jdbcTemplate.queryForObject("SELECT MAX(id) FROM validation_history", Long.class);
+        if (existing == null || value > existing) {
+            return value;
+        }
+        jdbcTemplate.execute("ALTER SEQUENCE " + ValidationHistory.SEQUENCE_NAME + " RESTART WITH " + (existing + 1));
+        log.info("History id sequence moved past existing ids (max id {})", existing);
+        return jdbcTemplate.queryForObject(nextSequenceValueSql, Long.class);
+    }
+
+    public int pending() {
+        return queueSize.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Attente d'un flush éventuellement en cours, puis vidage complet
+        flushLock.lock();
+        try {
+            drainAll();
+        } finally {
+            flushLock.unlock();
+        }
+        log.info("History writer flushed on shutdown ({} records left)", queueSize.get());
+    }
+}
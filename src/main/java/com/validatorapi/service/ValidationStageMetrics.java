@@ -0,0 +1,134 @@
+package com.validatorapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Durée de chaque étape des validateurs (System.nanoTime) :
+// timer validator.stage.duration{validator, stage, outcome} avec histogramme (p99 calculables côté Prometheus).
+// En debug (?debug=true, si validator.metrics.stage-timings-debug) le détail est aussi renvoyé dans la réponse.
+@Component
+public class ValidationStageMetrics {
+
+    private static final String TIMINGS_ATTRIBUTE = ValidationStageMetrics.class.getName() + ".timings";
+    private static final int MAX_STAGES = 8;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugEnabled;
+    private final ConcurrentMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ValidationStageMetrics(MeterRegistry meterRegistry,
+                                  @Value("${validator.metrics.stage-timings-debug:false}") boolean debugEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.debugEnabled = debugEnabled;
+    }
+
+    public Stopwatch start(String validator) {
+        return new Stopwatch(validator, System.nanoTime());
+    }
+
+    // startNanos : début de la validation quand une partie a été faite ailleurs (batch)
+    public Stopwatch start(String validator, long startNanos) {
+        return new Stopwatch(validator, startNanos);
+    }
+
+    // Étape mesurée hors d'un Stopwatch (chargements asynchrones du cache de domaines)
+    public void record(String validator, String stage, String outcome, long nanos) {
+        timer(validator, stage, outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // À appeler par le contrôleur avant la validation : les étapes de la requête courante seront conservées
+    public void captureTimings(boolean debug) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (debug && debugEnabled && attributes != null) {
+            attributes.setAttribute(TIMINGS_ATTRIBUTE, new LinkedHashMap<String, Double>(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // Étapes en ms de la requête courante, null hors debug ; vide si la réponse vient du cache
+    @SuppressWarnings("unchecked")
+    public Map<String, Double> capturedTimings() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (Map<String, Double>) attributes.getAttribute(TIMINGS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private Timer timer(String validator, String stage, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(validator, stage, outcome), key -> Timer.builder("validator.stage.duration")
+                .description("Duration of each validation stage")
+                .tag("validator", key.validator)
+                .tag("stage", key.stage)
+                .tag("outcome", key.outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String validator, String stage, String outcome) {
+    }
+
+    // Une instance par validation, non partagée entre threads
+    public final class Stopwatch {
+
+        private final String validator;
+        private final long startNanos;
+        private final String[] stages = new String[MAX_STAGES];
+        private final long[] durations = new long[MAX_STAGES];
+        private int count;
+        private long last;
+
+        private Stopwatch(String validator, long startNanos) {
+            this.validator = validator;
+            this.startNanos = startNanos;
+            this.last = System.nanoTime();
+        }
+
+        // Termine l'étape en cours : durée depuis l'étape précédente
+        public void lap(String stage) {
+            long now = System.nanoTime();
+            if (count < MAX_STAGES) {
+                stages[count] = stage;
+                durations[count++] = now - last;
+            }
+            last = now;
+        }
+
+        public long elapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        }
+
+        // Publication des étapes avec le résultat final (valid, invalid...), plus la durée totale
+        public void finish(String outcome) {
+            long total = System.nanoTime() - startNanos;
+            for (int i = 0; i < count; i++) {
+                record(validator, stages[i], outcome, durations[i]);
+            }
+            record(validator, "total", outcome, total);
+
+            Map<String, Double> captured = debugEnabled ? capturedTimings() : null;
+            if (captured != null) {
+                for (int i = 0; i < count; i++) {
+                    captured.merge(stages[i], millis(durations[i]), Double::sum);
+                }
+                captured.put("total", millis(total));
+            }
+        }
+
+        private double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,306 @@
+package com.validatorapi.service;
+
+import com.validatorapi.model.ValidationStatsRollup;
+import com.validatorapi.repository.ValidationStatsRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+// Compteurs en mémoire (LongAdder) alimentés par les validateurs, checkpointés dans validation_stats_rollup
+@Service
+@Slf4j
+public class ValidationStatsService {
+
+    public enum Type { EMAIL, PHONE, IBAN }
+
+    private static final long[] LATENCY_BOUNDS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+    private static final String[] LATENCY_LABELS =
+            {"lt1ms", "lt5ms", "lt10ms", "lt50ms", "lt100ms", "lt500ms", "lt1s", "lt5s", "gte5s"};
+    private static final String[] RISK_LABELS = {"0-24", "25-49", "50-74", "75-100", "unscored"};
+
+    private static final String SEED_INSERT_SQL =
+            "INSERT INTO validation_stats_rollup (metric, metric_value, updated_at) VALUES (?, ?, ?)";
+
+    private final ValidationStatsRollupRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Type, TypeCounters> counters = new EnumMap<>(Type.class);
+
+    // Totaux de la table au dernier checkpoint (toutes instances) et part locale déjà écrite
+    private volatile Map<String, Long> baseline = Map.of();
+    private final Map<String, Long> checkpointed = new HashMap<>();
+    private volatile boolean baselineLoaded;
+
+    public ValidationStatsService(ValidationStatsRollupRepository repository,
+                                  TransactionTemplate transactionTemplate,
+                                  JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        for (Type type : Type.values()) {
+            counters.put(type, new TypeCounters());
+        }
+    }
+
+    public void record(Type type, boolean isValid, Integer riskScore, long validationTimeMs) {
+        TypeCounters c = counters.get(type);
+        c.total.increment();
+        if (isValid) {
+            c.valid.increment();
+        }
+        c.risk[riskBucket(riskScore)].increment();
+        c.latency[latencyBucket(validationTimeMs)].increment();
+        c.latencySumMs.add(validationTimeMs);
+    }
+
+    public long totalValidations() {
+        long total = 0;
+        for (Type type : Type.values()) {
+            total += value(type + ".total");
+        }
+        return total;
+    }
+
+    public Map<String, Object> breakdown() {
+        Map<String, Object> byType = new LinkedHashMap<>();
+
+        for (Type type : Type.values()) {
+            long total = value(type + ".total");
+            long valid = value(type + ".valid");
+
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("total", total);
+            stats.put("valid", valid);
+            stats.put("invalid", total - valid);
+            stats.put("valid_rate", total == 0 ? 0.0 : (double) valid / total);
+            stats.put("avg_latency_ms", total == 0 ? 0.0 : (double) value(type + ".latency_sum_ms") / total);
+            stats.put("risk_buckets", labelled(type + ".risk.", RISK_LABELS));
+            stats.put("latency_histogram", labelled(type + ".latency.", LATENCY_LABELS));
+
+            byType.put(type.name().toLowerCase(), stats);
+        }
+        return byType;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBaseline() {
+        try {
+            seedFromHistoryIfEmpty();
+        } catch (RuntimeException e) {
+            // Autre instance en train d'initialiser (clé dupliquée) ou base indisponible : sa table fait foi
+            log.warn("Stats rollup seeding skipped: {}", e.getMessage());
+        }
+        refreshBaseline();
+        baselineLoaded = true;
+    }
+
+    @Scheduled(fixedDelayString = "${validator.stats.checkpoint-interval-ms:60000}")
+    public synchronized void checkpoint() {
+        if (!baselineLoaded) {
+            return; // Pas d'écriture avant l'initialisation éventuelle depuis l'historique
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> deltas = new HashMap<>();
+
+        forEachMetric((metric, adder) -> {
+            long delta = adder.sum() - checkpointed.getOrDefault(metric, 0L);
+            if (delta > 0) {
+                deltas.put(metric, delta);
+            }
+        });
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deltas.forEach((metric, delta) -> {
+                if (repository.increment(metric, delta, now) == 0) {
+                    repository.save(new ValidationStatsRollup(metric, delta));
+                }
+            }));
+            deltas.forEach((metric, delta) -> checkpointed.merge(metric, delta, Long::sum));
+            refreshBaseline();
+        } catch (RuntimeException e) {
+            log.warn("Stats checkpoint failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    // Première mise en service du rollup sur une base existante : compteurs reconstruits une fois depuis
+    // validation_history (lignes encore présentes après rétention), plutôt que de repartir de zéro
+    private void seedFromHistoryIfEmpty() {
+        boolean hasStats = Arrays.stream(Type.values())
+                .anyMatch(type -> !repository.findByMetricStartingWith(type + ".").isEmpty());
+        if (hasStats) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        Map<String, Long> seed = new HashMap<>();
+        jdbcTemplate.query(seedSelectSql(), rs -> {
+            Type type;
+            try {
+                type = Type.valueOf(rs.getString("validation_type"));
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            seed.put(type + ".total", rs.getLong("total"));
+            seed.put(type + ".valid", rs.getLong("valid"));
+            seed.put(type + ".latency_sum_ms", rs.getLong("latency_sum_ms"));
+            putBuckets(seed, rs, type + ".risk.", "risk_", RISK_LABELS);
+            putBuckets(seed, rs, type + ".latency.", "latency_", LATENCY_LABELS);
+        });
+        seed.values().removeIf(value -> value == 0);
+        if (seed.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Map.Entry<String, Long>> rows = new ArrayList<>(seed.entrySet());
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(SEED_INSERT_SQL, rows, rows.size(), (ps, row) -> {
+                    ps.setString(1, row.getKey());
+                    ps.setLong(2, row.getValue());
+                    ps.setTimestamp(3, now);
+                }));
+        log.info("Stats rollup seeded from validation_history: {} metrics in {}ms",
+                rows.size(), System.currentTimeMillis() - startTime);
+    }
+
+    // Mêmes tranches que record() : score absent = unscored, durée absente = 0 ms
+    private static String seedSelectSql() {
+        StringBuilder sql = new StringBuilder("SELECT validation_type, COUNT(*) AS total, ")
+                .append("SUM(CASE WHEN is_valid THEN 1 ELSE 0 END) AS valid, ")
+                .append("COALESCE(SUM(validation_time_ms), 0) AS latency_sum_ms");
+        for (int i = 0; i < RISK_LABELS.length - 1; i++) {
+            String upper = i == RISK_LABELS.length - 2 ? "" : " AND risk_score < " + (i + 1) * 25;
+            String lower = i == 0 ? "risk_score IS NOT NULL" : "risk_score >= " + i * 25;
+            sql.append(", SUM(CASE WHEN ").append(lower).append(upper).append(" THEN 1 ELSE 0 END) AS risk_").append(i);
+        }
+        sql.append(", SUM(CASE WHEN risk_score IS NULL THEN 1 ELSE 0 END) AS risk_").append(RISK_LABELS.length - 1);
+        for (int i = 0; i < LATENCY_LABELS.length; i++) {
+            StringBuilder condition = new StringBuilder();
+            if (i > 0) {
+                condition.append("COALESCE(validation_time_ms, 0) >= ").append(LATENCY_BOUNDS_MS[i - 1]);
+            }
+            if (i < LATENCY_BOUNDS_MS.length) {
+                condition.append(i > 0 ? " AND " : "")
+                        .append("COALESCE(validation_time_ms, 0) < ").append(LATENCY_BOUNDS_MS[i]);
+            }
+            sql.append(", SUM(CASE WHEN ").append(condition).append(" THEN 1 ELSE 0 END) AS latency_").append(i);
+        }
+        return sql.append(" FROM validation_history GROUP BY validation_type").toString();
+    }
+
+    private static void putBuckets(Map<String, Long> seed, ResultSet rs, String metricPrefix, String column,
+                                   String[] labels) throws SQLException {
+        for (int i = 0; i < labels.length; i++) {
+            seed.put(metricPrefix + labels[i], rs.getLong(column + i));
+        }
+    }
+
+    private void refreshBaseline() {
+        Map<String, Long> totals = new HashMap<>();
+        repository.findAll().forEach(row -> totals.put(row.getMetric(), row.getValue()));
+        synchronized (this) {
+            // Retrait de la part locale déjà comptée dans la table
+            checkpointed.forEach((metric, written) -> totals.merge(metric, -written, Long::sum));
+            baseline = totals;
+        }
+    }
+
+    // Lecture O(1) : total persistant + compteur local
+    private long value(String metric) {
+        return baseline.getOrDefault(metric, 0L) + localValue(metric);
+    }
+
+    private long localValue(String metric) {
+        int dot = metric.indexOf('.');
+        return counters.get(Type.valueOf(metric.substring(0, dot))).adder(metric.substring(dot + 1)).sum();
+    }
+
+    private Map<String, Long> labelled(String prefix, String[] labels) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (String label : labels) {
+            values.put(label, value(prefix + label));
+        }
+        return values;
+    }
+
+    private void forEachMetric(BiConsumer<String, LongAdder> action) {
+        counters.forEach((type, c) -> c.forEach((name, adder) -> action.accept(type + "." + name, adder)));
+    }
+
+    private static int riskBucket(Integer riskScore) {
+        if (riskScore == null) {
+            return RISK_LABELS.length - 1;
+        }
+        return Math.min(3, Math.max(0, riskScore) / 25);
+    }
+
+    private static int latencyBucket(long validationTimeMs) {
+        for (int i = 0; i < LATENCY_BOUNDS_MS.length; i++) {
+            if (validationTimeMs < LATENCY_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BOUNDS_MS.length;
+    }
+
+    private static final class TypeCounters {
+        private final LongAdder total = new LongAdder();
+        private final LongAdder valid = new LongAdder();
+        private final LongAdder latencySumMs = new LongAdder();
+        private final LongAdder[] risk = newAdders(RISK_LABELS.length);
+        private final LongAdder[] latency = newAdders(LATENCY_LABELS.length);
+
+        private final Map<String, LongAdder> byName = new HashMap<>();
+
+        private TypeCounters() {
+            byName.put("total", total);
+            byName.put("valid", valid);
+            byName.put("latency_sum_ms", latencySumMs);
+            for (int i = 0; i < risk.length; i++) {
+                byName.put("risk." + RISK_LABELS[i], risk[i]);
+            }
+            for (int i = 0; i < latency.length; i++) {
+                byName.put("latency." + LATENCY_LABELS[i], latency[i]);
+            }
+        }
+
+        private LongAdder adder(String name) {
+            return byName.get(name);
+        }
+
+        private void forEach(BiConsumer<String, LongAdder> action) {
+            byName.forEach(action);
+        }
+
+        private static LongAdder[] newAdders(int count) {
+            LongAdder[] adders = new LongAdder[count];
+            for (int i = 0; i < count; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.validatorapi.benchmark;
+
+import com.validatorapi.dto.BatchEmailValidationResponse;
+import com.validatorapi.service.BatchValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// BatchValidationService.validateBatch selon la taille du lot et le nombre de domaines distincts
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BatchValidationBenchmark {
+
+    private static final int BATCHES = 16;
+    private static final int DOMAIN_POOL = 2_000;
+
+    @Param({"10", "100", "1000"})
+    public int batchSize;
+
+    // single : un seul domaine ; few : 10 domaines ; unique : un domaine par adresse
+    @Param({"single", "few", "unique"})
+    public String domains;
+
+    private ExecutorService executor;
+    private BatchValidationService service;
+    private List<List<String>> batches;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+
+        List<String> domainPool = new ArrayList<>(DOMAIN_POOL);
+        for (int i = 0; i < DOMAIN_POOL; i++) {
+            domainPool.add("company-" + i + ".com");
+        }
+
+        // Même dimensionnement que le batchExecutor par défaut
+        executor = Executors.newFixedThreadPool(8);
+        service = BenchmarkFixtures.batchValidator(
+                BenchmarkFixtures.domainFactsService(BenchmarkFixtures.mxResolver(domainPool)), executor);
+
+        batches = new ArrayList<>(BATCHES);
+        for (int b = 0; b < BATCHES; b++) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                batch.add("user" + i + "@" + domainPool.get(domainIndex(b, i)));
+            }
+            batches.add(batch);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public BatchEmailValidationResponse validateBatch(Cursor cursor) {
+        return service.validateBatch(batches.get(cursor.next++ % BATCHES));
+    }
+
+    private int domainIndex(int batch, int item) {
+        return switch (domains) {
+            case "single" -> 0;
+            case "few" -> item % 10;
+            case "unique" -> (batch * batchSize + item) % DOMAIN_POOL;
+            default -> throw new IllegalArgumentException(domains);
+        };
+    }
+}
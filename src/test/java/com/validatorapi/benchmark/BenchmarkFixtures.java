@@ -0,0 +1,93 @@
+package com.validatorapi.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.validatorapi.config.CacheConfig;
+import com.validatorapi.config.CacheKeys;
+import com.validatorapi.config.ConcurrencyLimiter;
+import com.validatorapi.repository.DisposableDomainRepository;
+import com.validatorapi.service.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+// Services câblés à la main, sans contexte Spring : pas de proxy @Cacheable, on mesure le calcul lui-même.
+// L'historique et les stats sont les vrais composants (file en mémoire, LongAdder), jamais vidés en base.
+final class BenchmarkFixtures {
+
+    static final List<String> DISPOSABLE_DOMAINS = List.of("mailinator.com", "yopmail.com", "*.trashmail.com");
+
+    private BenchmarkFixtures() {
+    }
+
+    // Les logs INFO par validation fausseraient les mesures (I/O console dans le fork JMH)
+    static void quietLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(Level.WARN);
+    }
+
+    static ValidationHistoryWriter historyWriter() {
+        // Seule l'unwrap Hibernate du constructeur a besoin d'un mock ; batchSize infini : aucun flush
+        EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+        Mockito.when(entityManagerFactory.unwrap(SessionFactoryImplementor.class))
+                .thenReturn(Mockito.mock(SessionFactoryImplementor.class, Mockito.RETURNS_DEEP_STUBS));
+        return new ValidationHistoryWriter(null, new ConcurrencyLimiter(64, 192, 5), ForkJoinPool.commonPool(),
+                new SimpleMeterRegistry(), entityManagerFactory, 10_000, Integer.MAX_VALUE,
+                ValidationHistoryWriter.OverflowPolicy.DROP_OLDEST);
+    }
+
+    static ValidationStatsService validationStats() {
+        return new ValidationStatsService(null, null, null);
+    }
+
+    // Timers Micrometer réels (histogrammes compris) : leur coût fait partie du chemin mesuré
+    static ValidationStageMetrics stageMetrics() {
+        return new ValidationStageMetrics(new SimpleMeterRegistry(), false);
+    }
+
+    static DomainFactsService domainFactsService(MxResolver mxResolver) {
+        DisposableDomainRepository repository = Mockito.mock(DisposableDomainRepository.class);
+        Mockito.when(repository.findAllDomains()).thenReturn(DISPOSABLE_DOMAINS);
+        DisposableDomainIndex index = new DisposableDomainIndex(repository, event -> { });
+        index.reload();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(CacheConfig.DOMAIN_FACTS, Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .buildAsync());
+        return new DomainFactsService(mxResolver, index, cacheManager, stageMetrics());
+    }
+
+    static StubMxResolver mxResolver(Collection<String> domainsWithMx) {
+        StubMxResolver resolver = new StubMxResolver();
+        domainsWithMx.forEach(resolver::withMx);
+        return resolver;
+    }
+
+    static EmailValidatorService emailValidator(DomainFactsService domainFactsService) {
+        return new EmailValidatorService(domainFactsService, historyWriter(), new CacheKeys(), validationStats(), stageMetrics());
+    }
+
+    static PhoneValidatorService phoneValidator() {
+        return new PhoneValidatorService(historyWriter(), validationStats(), new CacheKeys(), stageMetrics());
+    }
+
+    static IbanValidatorService ibanValidator() {
+        return new IbanValidatorService(historyWriter(), validationStats(), new CacheKeys(), stageMetrics(), new IbanRegistry());
+    }
+
+    static BatchValidationService batchValidator(DomainFactsService domainFactsService, ExecutorService executor) {
+        return new BatchValidationService(emailValidator(domainFactsService), domainFactsService,
+                new ObjectMapper(), executor);
+    }
+}
@@ -0,0 +1,54 @@
+package com.validatorapi.benchmark;
+
+import com.validatorapi.dto.EmailValidationResponse;
+import com.validatorapi.service.EmailValidatorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EmailValidatorService.validate, DNS remplacé par des zones fixes
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class EmailValidationBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    // business : MX trouvé ; free : fournisseur gratuit ; disposable : liste jetable ;
+    // nxdomain : domaine inexistant ; invalid : rejet syntaxique
+    @Param({"business", "free", "disposable", "nxdomain", "invalid"})
+    public String profile;
+
+    private EmailValidatorService service;
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        service = BenchmarkFixtures.emailValidator(BenchmarkFixtures.domainFactsService(
+                BenchmarkFixtures.mxResolver(List.of("acme-corp.com", "gmail.com", "mailinator.com"))));
+
+        emails = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            emails[i] = switch (profile) {
+                case "business" -> "john.doe" + i + "@acme-corp.com";
+                case "free" -> "Jane.Smith" + i + "@Gmail.com";
+                case "disposable" -> "temp" + i + "@mailinator.com";
+                case "nxdomain" -> "user" + i + "@no-such-domain-" + (i % 32) + ".com";
+                case "invalid" -> i % 2 == 0 ? "not-an-email-" + i : "user" + i + "@localhost";
+                default -> throw new IllegalArgumentException(profile);
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public EmailValidationResponse validate(Cursor cursor) {
+        return service.validate(emails[cursor.next++ & (INPUTS - 1)]);
+    }
+}
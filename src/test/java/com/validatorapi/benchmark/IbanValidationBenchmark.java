@@ -0,0 +1,52 @@
+package com.validatorapi.benchmark;
+
+import com.validatorapi.dto.IbanValidationResponse;
+import com.validatorapi.service.IbanValidatorService;
+import org.iban4j.CountryCode;
+import org.iban4j.Iban;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// IbanValidatorService.validate par pays, avec une part d'IBAN à clé invalide et de saisies espacées
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class IbanValidationBenchmark {
+
+    private static final int INPUTS = 256;
+
+    @Param({"FR", "DE", "GB", "ES", "IT", "NL", "BE", "CH"})
+    public String country;
+
+    private IbanValidatorService service;
+    private String[] ibans;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        service = BenchmarkFixtures.ibanValidator();
+
+        ibans = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            Iban iban = new Iban.Builder()
+                    .countryCode(CountryCode.getByCode(country))
+                    .buildRandom();
+            ibans[i] = switch (i % 4) {
+                case 0 -> iban.toFormattedString();
+                case 1 -> iban.toString().substring(0, 2) + "00" + iban.toString().substring(4); // Clé fausse
+                default -> iban.toString();
+            };
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public IbanValidationResponse validate(Cursor cursor) {
+        return service.validate(ibans[cursor.next++ & (INPUTS - 1)]);
+    }
+}
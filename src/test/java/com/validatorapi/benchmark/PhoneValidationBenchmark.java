@@ -0,0 +1,56 @@
+package com.validatorapi.benchmark;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import com.validatorapi.dto.PhoneValidationResponse;
+import com.validatorapi.service.PhoneValidatorService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// PhoneValidatorService.validate par région, formats national / international / E.164 mélangés
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PhoneValidationBenchmark {
+
+    private static final int INPUTS = 256;
+
+    @Param({"FR", "US", "GB", "DE", "IN", "BR", "JP"})
+    public String region;
+
+    private PhoneValidatorService service;
+    private String[] numbers;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        service = BenchmarkFixtures.phoneValidator();
+
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        PhoneNumberUtil.PhoneNumberType[] types = {
+                PhoneNumberUtil.PhoneNumberType.MOBILE, PhoneNumberUtil.PhoneNumberType.FIXED_LINE};
+        PhoneNumberUtil.PhoneNumberFormat[] formats = {
+                PhoneNumberUtil.PhoneNumberFormat.NATIONAL,
+                PhoneNumberUtil.PhoneNumberFormat.INTERNATIONAL,
+                PhoneNumberUtil.PhoneNumberFormat.E164};
+
+        numbers = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            PhoneNumber example = phoneUtil.getExampleNumberForType(region, types[i % types.length]);
+            // Dernier chiffre varié : numéros distincts, majoritairement valides
+            example.setNationalNumber(example.getNationalNumber() - example.getNationalNumber() % 10 + i % 10);
+            numbers[i] = phoneUtil.format(example, formats[i % formats.length]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public PhoneValidationResponse validate(Cursor cursor) {
+        return service.validate(numbers[cursor.next++ & (INPUTS - 1)], region);
+    }
+}
@@ -0,0 +1,36 @@
+package com.validatorapi.benchmark;
+
+import com.validatorapi.config.ConcurrencyLimiter;
+import com.validatorapi.service.MxLookupResult;
+import com.validatorapi.service.MxResolver;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+// Résolveur MX sans réseau : zones fixées à l'avance, futures pré-construits (aucune allocation par appel)
+class StubMxResolver extends MxResolver {
+
+    private static final CompletableFuture<MxLookupResult> NXDOMAIN =
+            CompletableFuture.completedFuture(MxLookupResult.of(MxLookupResult.Status.NXDOMAIN));
+
+    private final Map<String, CompletableFuture<MxLookupResult>> zones = new HashMap<>();
+
+    StubMxResolver() {
+        super(domain -> NXDOMAIN.join(), ForkJoinPool.commonPool(), ForkJoinPool.commonPool(),
+                new ConcurrencyLimiter(64, 192, 5), 1,
+                Duration.ofHours(1), Duration.ofMinutes(10), Duration.ofMinutes(1));
+    }
+
+    StubMxResolver withMx(String domain) {
+        zones.put(domain, CompletableFuture.completedFuture(MxLookupResult.found("mx1." + domain, 2)));
+        return this;
+    }
+
+    @Override
+    public CompletableFuture<MxLookupResult> resolveAsync(String domain, boolean batch) {
+        return zones.getOrDefault(domain, NXDOMAIN);
+    }
+}
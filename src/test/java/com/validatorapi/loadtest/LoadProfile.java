@@ -0,0 +1,56 @@
+package com.validatorapi.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Paramètres du run, lus dans les propriétés système (-Dloadtest.*)
+record LoadProfile(
+        int rate,                    // requêtes / seconde, toutes routes confondues
+        Duration warmup,             // requêtes envoyées mais non comptées
+        Duration duration,
+        Map<String, Integer> mix,    // poids par route
+        int batchSize,
+        int domains,                 // domaines distincts pour les emails générés
+        double invalidRatio,         // part d'entrées invalides
+        Duration requestTimeout,
+        long sloP99Ms,               // 0 : pas de seuil, sinon échec si un p99 le dépasse
+        String apiKey                // Clé INTERNAL du profil loadtest : le limiteur est traversé sans plafond
+) {
+
+    static final String DEFAULT_MIX = "email=45,phone=20,iban=15,combo=10,batch=10";
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("loadtest.rate", 100),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Integer.getInteger("loadtest.batch-size", 50),
+                Integer.getInteger("loadtest.domains", 500),
+                Double.parseDouble(System.getProperty("loadtest.invalid-ratio", "0.05")),
+                Duration.ofSeconds(Long.getLong("loadtest.request-timeout-seconds", 10)),
+                Long.getLong("loadtest.slo-p99-ms", 0),
+                System.getProperty("loadtest.api-key", "loadtest")
+        );
+    }
+
+    // "email=45,phone=20" -> {email=45, phone=20}
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(entry[0].trim(), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no positive weight: " + mix);
+        }
+        return weights;
+    }
+}
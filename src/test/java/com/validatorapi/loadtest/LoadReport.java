@@ -0,0 +1,93 @@
+package com.validatorapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Synthèse par route : percentiles en ms, taux d'erreur, débit obtenu. Console + JSON (comparaison entre runs)
+class LoadReport {
+
+    private final LoadProfile profile;
+    private final Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+
+    LoadReport(LoadProfile profile, Map<String, LoadRunner.EndpointStats> stats) {
+        this.profile = profile;
+        double seconds = profile.duration().toMillis() / 1000.0;
+        stats.forEach((route, endpoint) -> {
+            Histogram latency = endpoint.latency;
+            long count = latency.getTotalCount();
+            long errors = endpoint.errors.sum();
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            summary.put("errors", errors);
+            summary.put("error_rate", count == 0 ? 0.0 : (double) errors / count);
+            summary.put("throughput_per_second", round(count / seconds));
+            summary.put("p50_ms", millis(latency.getValueAtPercentile(50)));
+            summary.put("p99_ms", millis(latency.getValueAtPercentile(99)));
+            summary.put("p999_ms", millis(latency.getValueAtPercentile(99.9)));
+            summary.put("max_ms", millis(latency.getMaxValue()));
+            endpoints.put(route, summary);
+        });
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format("%nLoad test: %d req/s, %ds (+%ds warmup), mix %s%n",
+                profile.rate(), profile.duration().toSeconds(), profile.warmup().toSeconds(), profile.mix()));
+        table.append(String.format("%-8s %9s %8s %8s %10s %10s %10s %10s%n",
+                "route", "count", "errors", "err %", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        endpoints.forEach((route, s) -> table.append(String.format("%-8s %9d %8d %8.2f %10.2f %10.2f %10.2f %10.2f%n",
+                route, s.get("count"), s.get("errors"), 100 * (double) s.get("error_rate"),
+                s.get("p50_ms"), s.get("p99_ms"), s.get("p999_ms"), s.get("max_ms"))));
+        return table.toString();
+    }
+
+    void writeJson(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("rate", profile.rate());
+        report.put("duration_seconds", profile.duration().toSeconds());
+        report.put("warmup_seconds", profile.warmup().toSeconds());
+        report.put("mix", profile.mix());
+        report.put("batch_size", profile.batchSize());
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    // Routes dont le p99 dépasse le seuil, ou sans aucune réponse mesurée
+    Map<String, Double> p99Violations(long thresholdMs) {
+        Map<String, Double> violations = new LinkedHashMap<>();
+        endpoints.forEach((route, s) -> {
+            double p99 = (double) s.get("p99_ms");
+            if ((long) s.get("count") == 0 || p99 > thresholdMs) {
+                violations.put(route, p99);
+            }
+        });
+        return violations;
+    }
+
+    double errorRate() {
+        long count = 0;
+        long errors = 0;
+        for (Map<String, Object> s : endpoints.values()) {
+            count += (long) s.get("count");
+            errors += (long) s.get("errors");
+        }
+        return count == 0 ? 0.0 : (double) errors / count;
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,99 @@
+package com.validatorapi.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Charge en boucle ouverte : les requêtes partent à heure fixe, qu'une réponse soit arrivée ou non.
+// La latence est mesurée depuis l'heure d'envoi prévue (correction du "coordinated omission") :
+// un serveur qui décroche se voit dans les percentiles au lieu de ralentir l'injecteur.
+class LoadRunner {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final RequestFactory requests;
+    private final LoadProfile profile;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    LoadRunner(RequestFactory requests, LoadProfile profile) {
+        this.requests = requests;
+        this.profile = profile;
+        for (String route : profile.mix().keySet()) {
+            stats.put(route, new EndpointStats());
+        }
+    }
+
+    Map<String, EndpointStats> run() throws InterruptedException {
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)  // Pas de tentative d'upgrade h2c par connexion
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        SplittableRandom random = new SplittableRandom(Long.getLong("loadtest.seed", 7));
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + profile.warmup().toNanos();
+        long end = measureFrom + profile.duration().toNanos();
+
+        for (long intended = start; intended < end; intended += intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String route = requests.pickRoute(random);
+            HttpRequest request = requests.build(route, random);
+            EndpointStats endpoint = intended >= measureFrom ? stats.get(route) : null;
+            long intendedStart = intended;
+
+            CompletableFuture<?> future = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (endpoint != null) {
+                            endpoint.record(System.nanoTime() - intendedStart,
+                                    error != null || response.statusCode() >= 400);
+                        }
+                    });
+            // Retrait à la complétion (immédiat si déjà terminée) : pas de parcours des requêtes en vol
+            inFlight.add(future);
+            future.whenComplete((response, error) -> inFlight.remove(future));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
+        executor.shutdown();
+        executor.awaitTermination(profile.requestTimeout().toSeconds(), TimeUnit.SECONDS);
+        return stats;
+    }
+
+    static class EndpointStats {
+
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean error) {
+            latency.recordValue(Math.min(nanos, MAX_TRACKABLE_NANOS));
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
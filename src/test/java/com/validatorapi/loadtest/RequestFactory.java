@@ -0,0 +1,142 @@
+package com.validatorapi.loadtest;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
+import org.iban4j.CountryCode;
+import org.iban4j.Iban;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Construit les requêtes HTTP de chaque route à partir de jeux de données générés au démarrage
+class RequestFactory {
+
+    private static final String[] PHONE_REGIONS = {"FR", "US", "GB", "DE", "ES", "IT", "BE", "CH"};
+    private static final CountryCode[] IBAN_COUNTRIES = {
+            CountryCode.FR, CountryCode.DE, CountryCode.GB, CountryCode.ES,
+            CountryCode.IT, CountryCode.NL, CountryCode.BE, CountryCode.CH};
+    private static final String[] WELL_KNOWN_DOMAINS = {"gmail.com", "outlook.com", "yahoo.com", "mailinator.com"};
+    private static final int DATASET_SIZE = 2_000;
+
+    private final URI baseUri;
+    private final LoadProfile profile;
+    private final String[] routes;
+    private final int[] cumulativeWeights;
+
+    private final List<String> domains = new ArrayList<>();
+    private final List<String[]> phones = new ArrayList<>();
+    private final List<String> ibans = new ArrayList<>();
+
+    RequestFactory(URI baseUri, LoadProfile profile) {
+        this.baseUri = baseUri;
+        this.profile = profile;
+
+        Map<String, Integer> mix = profile.mix();
+        this.routes = mix.keySet().toArray(String[]::new);
+        this.cumulativeWeights = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += mix.get(routes[i]);
+            cumulativeWeights[i] = total;
+        }
+
+        for (int i = 0; i < profile.domains(); i++) {
+            domains.add(i < WELL_KNOWN_DOMAINS.length ? WELL_KNOWN_DOMAINS[i] : "company-" + i + ".com");
+        }
+
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            String region = PHONE_REGIONS[i % PHONE_REGIONS.length];
+            PhoneNumber example = phoneUtil.getExampleNumberForType(region, PhoneNumberUtil.PhoneNumberType.MOBILE);
+            example.setNationalNumber(example.getNationalNumber() - example.getNationalNumber() % 100 + i % 100);
+            PhoneNumberUtil.PhoneNumberFormat format = i % 2 == 0
+                    ? PhoneNumberUtil.PhoneNumberFormat.E164
+                    : PhoneNumberUtil.PhoneNumberFormat.NATIONAL;
+            phones.add(new String[]{phoneUtil.format(example, format), region});
+        }
+
+        for (int i = 0; i < DATASET_SIZE; i++) {
+            ibans.add(new Iban.Builder().countryCode(IBAN_COUNTRIES[i % IBAN_COUNTRIES.length]).buildRandom().toString());
+        }
+    }
+
+    String pickRoute(SplittableRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return routes[i];
+            }
+        }
+        return routes[routes.length - 1];
+    }
+
+    HttpRequest build(String route, SplittableRandom random) {
+        return switch (route) {
+            case "email" -> get("/api/v1/validate/email?email=" + encode(email(random)));
+            case "phone" -> {
+                String[] phone = phones.get(random.nextInt(phones.size()));
+                yield get("/api/v1/validate/phone?phone=" + encode(phone[0]) + "&country=" + phone[1]);
+            }
+            case "iban" -> get("/api/v1/validate/iban?iban=" + encode(iban(random)));
+            case "combo" -> {
+                String[] phone = phones.get(random.nextInt(phones.size()));
+                yield post("/api/v1/validate/combo", "{\"email\":\"" + email(random)
+                        + "\",\"phone\":\"" + phone[0] + "\",\"country\":\"" + phone[1] + "\"}");
+            }
+            case "batch" -> {
+                StringBuilder body = new StringBuilder("{\"emails\":[");
+                for (int i = 0; i < profile.batchSize(); i++) {
+                    body.append(i == 0 ? "\"" : ",\"").append(email(random)).append('"');
+                }
+                yield post("/api/v1/validate/batch/email", body.append("]}").toString());
+            }
+            default -> throw new IllegalArgumentException("Unknown route in loadtest.mix: " + route);
+        };
+    }
+
+    // Partie locale aléatoire : pas de hit sur le cache par adresse, seulement sur le cache par domaine
+    private String email(SplittableRandom random) {
+        if (random.nextDouble() < profile.invalidRatio()) {
+            return "invalid-" + random.nextInt(1_000_000);
+        }
+        return "user" + random.nextInt(10_000_000) + "@" + domains.get(random.nextInt(domains.size()));
+    }
+
+    private String iban(SplittableRandom random) {
+        String iban = ibans.get(random.nextInt(ibans.size()));
+        if (random.nextDouble() < profile.invalidRatio()) {
+            return iban.substring(0, 2) + "00" + iban.substring(4);
+        }
+        return iban;
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(profile.requestTimeout())
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .header("X-API-Key", profile.apiKey());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.validatorapi.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Test de charge de bout en bout : application complète sur H2 + DNS simulé (profil loadtest).
+// Hors build par défaut (nom hors des includes surefire) : mvn -Ploadtest test -Dloadtest.rate=500 ...
+@Slf4j
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "validator.cache.snapshot.enabled=false"    // Chaque run part de caches froids
+})
+class ValidationLoadHarness {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void replayRequestMix() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        RequestFactory requests = new RequestFactory(URI.create("http://localhost:" + port), profile);
+
+        Map<String, LoadRunner.EndpointStats> stats = new LoadRunner(requests, profile).run();
+
+        LoadReport report = new LoadReport(profile, stats);
+        log.info(report.toTable());
+        Path json = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        report.writeJson(json);
+        log.info("Load test report written to {}", json.toAbsolutePath());
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+        assertThat(report.errorRate()).as("global error rate").isLessThanOrEqualTo(maxErrorRate);
+        if (profile.sloP99Ms() > 0) {
+            assertThat(report.p99Violations(profile.sloP99Ms())).as("routes above p99 SLO").isEmpty();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.validatorapi.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Table déjà remplie avant la séquence (ids IDENTITY d'une version précédente) : aucun INSERT ne doit échouer
+@ActiveProfiles("loadtest") // DNS simulé et liste jetable locale : pas de réseau
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:history-writer;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "validator.cache.snapshot.enabled=false",
+        "validator.history.flush-interval-ms=3600000"   // Flush déclenché par le test uniquement
+})
+class ValidationHistoryWriterTest {
+
+    private static final int EXISTING_ROWS = 120;
+
+    @Autowired
+    private ValidationHistoryWriter writer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void writesAfterExistingIds() {
+        jdbcTemplate.update("DELETE FROM validation_history");
+        for (long id = 1; id <= EXISTING_ROWS; id++) {
+            jdbcTemplate.update("INSERT INTO validation_history (id, validation_type, input_value, is_valid, created_at) "
+                    + "VALUES (?, 'EMAIL', 'legacy@example.com', TRUE, CURRENT_TIMESTAMP)", id);
+        }
+
+        for (int i = 0; i < 75; i++) {
+            writer.record("EMAIL", "user" + i + "@example.com", true, 10, 3);
+        }
+        writer.flush();
+
+        assertEquals(0.0, meterRegistry.counter("validator.history.records", "result", "failed").count());
+        assertEquals(EXISTING_ROWS + 75,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM validation_history", Integer.class));
+        assertEquals(75, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM validation_history WHERE id > ?", Integer.class, EXISTING_ROWS));
+    }
+}